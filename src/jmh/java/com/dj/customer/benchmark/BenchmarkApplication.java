@@ -0,0 +1,80 @@
+package com.dj.customer.benchmark;
+
+import com.dj.customer.CustomerRegistrationServiceApplication;
+import com.dj.customer.index.CustomerIdIndex;
+import com.dj.customer.search.CustomerSearchIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the real application against a private in-memory H2 database (or
+ * the persistent profile's H2 file) on a random port, with logging quietened
+ * so the numbers measure the code and not the appenders. Settings are passed
+ * as command-line arguments so they take precedence over application.yml.
+ */
+final class BenchmarkApplication {
+
+    private static final int SEED_CHUNK = 1_000_000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.sql.init.mode=never"));
+        args.addAll(List.of(extraArgs));
+        return run(args);
+    }
+
+    // The persistent profile on an H2 file in dir; the schema is created on first start
+    static ConfigurableApplicationContext startPersistent(Path dir) {
+        return run(List.of(
+                "--spring.profiles.active=persistent",
+                "--customer.storage.dir=" + dir.toAbsolutePath()));
+    }
+
+    private static ConfigurableApplicationContext run(List<String> specificArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--logging.level.root=WARN",
+                "--logging.level.com.dj.customer=WARN"));
+        args.addAll(specificArgs);
+
+        return new SpringApplicationBuilder(CustomerRegistrationServiceApplication.class)
+                .run(args.toArray(String[]::new));
+    }
+
+    // Bulk insert rows 1..rows, a million per statement; far faster than going through JPA
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        for (int from = 1; from <= rows; from += SEED_CHUNK) {
+            jdbc.update("""
+                    INSERT INTO customer (id, full_name, email, mobile, full_name_normalized, email_normalized, mobile_digits)
+                    SELECT X, 'Customer ' || X, 'customer' || X || '@example.com', CAST(9000000000 + X AS VARCHAR),
+                           'customer ' || X, 'customer' || X || '@example.com', CAST(9000000000 + X AS VARCHAR)
+                    FROM SYSTEM_RANGE(?, ?)
+                    """, from, Math.min(rows, from + SEED_CHUNK - 1));
+        }
+        jdbc.execute("ALTER SEQUENCE customer_seq RESTART WITH " + (rows + 1));
+
+        // Rows were written behind the service's back; index them like a fresh start would
+        context.getBean(CustomerIdIndex.class).load();
+        context.getBean(CustomerSearchIndex.class).load();
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
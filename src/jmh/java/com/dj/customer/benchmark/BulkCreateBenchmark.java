@@ -0,0 +1,66 @@
+package com.dj.customer.benchmark;
+
+import com.dj.customer.dto.BulkCreateResponse;
+import com.dj.customer.dto.CustomerRequest;
+import com.dj.customer.service.CustomerBulkService;
+import com.dj.customer.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time per row for importing {@link #BATCH} customers through the bulk NDJSON
+ * path versus calling the single-create service method in a loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class BulkCreateBenchmark {
+
+    private static final int BATCH = 1000;
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private CustomerService service;
+    private CustomerBulkService bulkService;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplicationState application) {
+        service = application.bean(CustomerService.class);
+        bulkService = application.bean(CustomerBulkService.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BulkCreateResponse bulkNdjson() throws Exception {
+        StringBuilder body = new StringBuilder(BATCH * 80);
+        for (int i = 0; i < BATCH; i++) {
+            long n = SEQUENCE.incrementAndGet();
+            body.append("{\"fullName\":\"Bulk ").append(n)
+                    .append("\",\"email\":\"bulk").append(n)
+                    .append("@example.com\",\"mobile\":\"").append(7_000_000_000L + n)
+                    .append("\"}\n");
+        }
+        return bulkService.create(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long singleCreateLoop() {
+        long last = 0;
+        for (int i = 0; i < BATCH; i++) {
+            long n = SEQUENCE.incrementAndGet();
+            last = service.create(CustomerRequest.builder()
+                    .fullName("Single " + n)
+                    .email("single" + n + "@example.com")
+                    .mobile(String.valueOf(6_000_000_000L + n))
+                    .build()).getId();
+        }
+        return last;
+    }
+}
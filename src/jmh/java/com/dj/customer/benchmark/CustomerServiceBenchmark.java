@@ -0,0 +1,107 @@
+package com.dj.customer.benchmark;
+
+import com.dj.customer.dto.CustomerCursor;
+import com.dj.customer.dto.CustomerRequest;
+import com.dj.customer.dto.CustomerResponse;
+import com.dj.customer.dto.CustomerWindowResponse;
+import com.dj.customer.dto.MatchMode;
+import com.dj.customer.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service layer against H2: single-row reads and writes plus the
+ * paged LIKE search that backs GET /api/v1/customers. The deep* pair
+ * compares offset and keyset paging near the end of the table.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CustomerServiceBenchmark {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, Sort.by("fullName"));
+
+    @State(Scope.Thread)
+    public static class Service {
+
+        CustomerService service;
+        int rows;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededApplicationState application) {
+            service = application.bean(CustomerService.class);
+            rows = application.rows;
+        }
+
+        long randomId() {
+            return ThreadLocalRandom.current().nextLong(1, rows + 1);
+        }
+    }
+
+    @Benchmark
+    public CustomerResponse getById(Service state) {
+        return state.service.getById(state.randomId());
+    }
+
+    @Benchmark
+    public CustomerResponse create(Service state) {
+        // Email and mobile are unique per customer
+        long n = SEQUENCE.incrementAndGet();
+        return state.service.create(CustomerRequest.builder()
+                .fullName("Bench Customer " + n)
+                .email("bench" + n + "@example.com")
+                .mobile(String.valueOf(8_000_000_000L + n))
+                .build());
+    }
+
+    @Benchmark
+    public Page<CustomerResponse> searchByName(Service state) {
+        return state.service.search("customer " + state.randomId(), null, null, MatchMode.CONTAINS, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<CustomerResponse> searchByEmail(Service state) {
+        return state.service.search(null, "customer" + state.randomId() + "@", null, MatchMode.CONTAINS, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<CustomerResponse> searchByEmailExact(Service state) {
+        return state.service.search(null, "customer" + state.randomId() + "@example.com", null, MatchMode.EXACT, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<CustomerResponse> searchByMobileExact(Service state) {
+        return state.service.search(null, null, String.valueOf(9_000_000_000L + state.randomId()), MatchMode.EXACT, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<CustomerResponse> searchByNamePrefix(Service state) {
+        return state.service.search("customer " + state.randomId(), null, null, MatchMode.PREFIX, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<CustomerResponse> searchUnfiltered(Service state) {
+        return state.service.search(null, null, null, MatchMode.CONTAINS, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<CustomerResponse> deepOffsetPage(Service state) {
+        return state.service.search(null, null, null, MatchMode.CONTAINS, PageRequest.of(state.rows / 20 - 1, 20, Sort.by("id")));
+    }
+
+    @Benchmark
+    public CustomerWindowResponse deepKeysetWindow(Service state) {
+        CustomerCursor cursor = new CustomerCursor(CustomerCursor.SeekKey.ID, (long) state.rows - 20, null);
+        return state.service.scroll(null, null, null, MatchMode.CONTAINS, cursor, 20, false);
+    }
+}
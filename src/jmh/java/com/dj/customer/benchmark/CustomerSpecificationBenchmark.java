@@ -0,0 +1,70 @@
+package com.dj.customer.benchmark;
+
+import com.dj.customer.entity.Customer;
+import com.dj.customer.repository.CustomerSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the search filters into a criteria predicate, and of
+ * translating that criteria query into an executable JPA query.
+ * No rows are read, so the database is left empty.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CustomerSpecificationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    private static Specification<Customer> allFilters() {
+        return Specification.allOf(
+                CustomerSpecification.hasName("sachin"),
+                CustomerSpecification.hasEmail("gmail"),
+                CustomerSpecification.hasMobile("98")
+        );
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Customer> query = cb.createQuery(Customer.class);
+        Root<Customer> root = query.from(Customer.class);
+        return allFilters().toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public TypedQuery<Customer> buildQuery() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Customer> query = cb.createQuery(Customer.class);
+        Root<Customer> root = query.from(Customer.class);
+        query.where(allFilters().toPredicate(root, query, cb));
+        return entityManager.createQuery(query);
+    }
+}
@@ -0,0 +1,60 @@
+package com.dj.customer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full request path over HTTP: Tomcat, filters, controller, service,
+ * H2 and JSON serialization.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EndToEndBenchmark {
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        HttpClient http;
+        String baseUrl;
+        int rows;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededApplicationState application) {
+            http = HttpClient.newHttpClient();
+            baseUrl = "http://localhost:" + application.port() + "/api/v1/customers";
+            rows = application.rows;
+        }
+
+        HttpResponse<byte[]> get(String pathAndQuery) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery)).GET().build();
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Unexpected status " + response.statusCode());
+            }
+            return response;
+        }
+
+        long randomId() {
+            return ThreadLocalRandom.current().nextLong(1, rows + 1);
+        }
+    }
+
+    @Benchmark
+    public HttpResponse<byte[]> getById(Client client) throws Exception {
+        return client.get("/" + client.randomId());
+    }
+
+    @Benchmark
+    public HttpResponse<byte[]> searchPage(Client client) throws Exception {
+        return client.get("?email=customer" + client.randomId() + "@&page=0&size=20");
+    }
+}
@@ -0,0 +1,69 @@
+package com.dj.customer.benchmark;
+
+import com.dj.customer.dto.CustomerResponse;
+import com.dj.customer.masking.MaskingModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization as the message converter does it, including
+ * the masking serializers. {@code masking=false} gives the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JacksonSerializationBenchmark {
+
+    @Param({"true", "false"})
+    public boolean masking;
+
+    private ObjectMapper objectMapper;
+    private CustomerResponse customer;
+    private Page<CustomerResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (masking) {
+            builder.modulesToInstall(new MaskingModule());
+        }
+        objectMapper = builder.build();
+
+        customer = customer(1);
+        List<CustomerResponse> content = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            content.add(customer(i));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, 20), 10_000);
+    }
+
+    private static CustomerResponse customer(long id) {
+        return CustomerResponse.builder()
+                .id(id)
+                .fullName("Customer " + id)
+                .email("customer" + id + "@example.com")
+                .mobile(String.valueOf(9_000_000_000L + id))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] customerResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public byte[] customerPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dj.customer.benchmark;
+
+import com.dj.customer.dto.CustomerRequest;
+import com.dj.customer.masking.MaskingEngine;
+import com.dj.customer.masking.MaskingModule;
+import com.dj.customer.masking.MaskingPlan;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-payload masking: the cached plan lookup done by MaskingAspect for
+ * every controller argument, and rendering a request DTO through an
+ * ObjectMapper with and without the MaskingModule.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MaskingBenchmark {
+
+    private final ObjectMapper plainMapper = new ObjectMapper();
+    private final ObjectMapper maskingMapper = new ObjectMapper().registerModule(new MaskingModule());
+
+    private final CustomerRequest request = CustomerRequest.builder()
+            .fullName("Sachin Tendulkar")
+            .email("sachin.tendulkar@xyz.com")
+            .mobile("9876543210")
+            .build();
+
+    @Benchmark
+    public MaskingPlan planLookup() {
+        return MaskingEngine.planFor(CustomerRequest.class);
+    }
+
+    @Benchmark
+    public String serializeRequest() throws JsonProcessingException {
+        return plainMapper.writeValueAsString(request);
+    }
+
+    @Benchmark
+    public String serializeMaskedRequest() throws JsonProcessingException {
+        return maskingMapper.writeValueAsString(request);
+    }
+}
@@ -0,0 +1,54 @@
+package com.dj.customer.benchmark;
+
+import com.dj.customer.util.MaskingUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ns/op for each mask type over a rotating set of realistic values.
+ * Run with {@code -prof gc} to get bytes/op (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MaskingUtilBenchmark {
+
+    private static final String[] EMAILS = {
+            "sachin.tendulkar@xyz.com", "bret.lee@gmail.com", "ms.dhoni@cricket.com",
+            "a@b.io", "jasprit.bumrah@cricket.com", "v.kohli+news@mail.example.org"
+    };
+
+    private static final String[] MOBILES = {
+            "9876543210", "9123456780", "+91 98765 43210", "9000000001", "07700900123", "5551234"
+    };
+
+    private static final String[] NAMES = {
+            "Sachin Tendulkar", "MS Dhoni", "VVS Laxman", "Jasprit Bumrah", "KL Rahul", "Al"
+    };
+
+    private int index;
+
+    private int next() {
+        index = (index + 1) % EMAILS.length;
+        return index;
+    }
+
+    @Benchmark
+    public String maskEmail() {
+        return MaskingUtil.maskEmail(EMAILS[next()]);
+    }
+
+    @Benchmark
+    public String maskMobile() {
+        return MaskingUtil.maskMobile(MOBILES[next()]);
+    }
+
+    @Benchmark
+    public String maskGeneric() {
+        return MaskingUtil.maskGeneric(NAMES[next()]);
+    }
+}
@@ -0,0 +1,36 @@
+package com.dj.customer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * One running application per trial, seeded with {@code rows} customers.
+ * Shared by all benchmark threads.
+ */
+@State(Scope.Benchmark)
+public class SeededApplicationState {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    public ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int port() {
+        return BenchmarkApplication.port(context);
+    }
+}
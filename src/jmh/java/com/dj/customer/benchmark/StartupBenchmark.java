@@ -0,0 +1,59 @@
+package com.dj.customer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-ready of a warm restart with the persistent profile: the H2 file
+ * already holds the rows, so each start opens the MVStore, runs the
+ * idempotent schema script and validates the mapping. The file is built once
+ * per trial by a separate start that seeds it and shuts down cleanly.
+ *
+ * <p>Seeding 10M rows takes a few minutes and about 2 GB of disk; pass
+ * -p rows=1000000 for a quicker run.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"10000000"})
+    public int rows;
+
+    private Path dir;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void seed() throws IOException {
+        dir = Files.createTempDirectory("customer-startup");
+        try (ConfigurableApplicationContext seeding = BenchmarkApplication.startPersistent(dir)) {
+            BenchmarkApplication.seed(seeding, rows);
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext warmRestart() {
+        context = BenchmarkApplication.startPersistent(dir);
+        return context;
+    }
+
+    // Not measured; the file is closed before the next start opens it
+    @TearDown(Level.Invocation)
+    public void stop() {
+        context.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        FileSystemUtils.deleteRecursively(dir);
+    }
+}
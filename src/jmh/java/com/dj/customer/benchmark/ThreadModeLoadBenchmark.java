@@ -0,0 +1,89 @@
+package com.dj.customer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bursty HTTP load against the application on platform threads versus the
+ * virtual-threads profile. Throughput mode gives requests per second, sample
+ * mode gives the latency distribution including p0.99.
+ *
+ * <p>Forks run with -Djdk.tracePinnedThreads=short, so any carrier pinning
+ * under load is printed with its stack trace.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djdk.tracePinnedThreads=short"})
+public class ThreadModeLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"platform", "virtual"})
+        public String threads;
+
+        @Param({"100000"})
+        public int rows;
+
+        ConfigurableApplicationContext context;
+        String baseUrl;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = threads.equals("virtual")
+                    ? BenchmarkApplication.start("--spring.profiles.active=virtual-threads")
+                    : BenchmarkApplication.start();
+            BenchmarkApplication.seed(context, rows);
+            baseUrl = "http://localhost:" + BenchmarkApplication.port(context) + "/api/v1/customers";
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        HttpClient http;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            http = HttpClient.newHttpClient();
+        }
+
+        int get(String url) throws Exception {
+            HttpResponse<Void> response = http.send(
+                    HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Unexpected status " + response.statusCode());
+            }
+            return response.statusCode();
+        }
+    }
+
+    // Search goes to H2 on every call; getById would mostly hit the response cache
+    @Benchmark
+    public int search(Application application, Client client) throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1, application.rows + 1);
+        return client.get(application.baseUrl + "?email=customer" + id + "@&withTotal=false&size=20");
+    }
+
+    @Benchmark
+    public int exactEmail(Application application, Client client) throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1, application.rows + 1);
+        return client.get(application.baseUrl + "?email=customer" + id + "@example.com&match=EXACT&withTotal=false");
+    }
+}
@@ -0,0 +1,58 @@
+package com.dj.customer.filter;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CorrelationIdFilter#doFilterInternal} with and without an incoming
+ * X-Correlation-Id header, per id generator. Lives in the filter package to
+ * reach the protected method directly. Run with -t 8 or more to see
+ * SecureRandom contention in the random generator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CorrelationIdFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean headerPresent;
+
+    @Param({"random", "uuid7", "counter"})
+    public String generator;
+
+    private CorrelationIdFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    // No Spring here, so logback would fall back to DEBUG on the console. Done once, before
+    // any thread state is set up: concurrent first use of SLF4J hands out substitute loggers
+    static {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.WARN);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        filter = new CorrelationIdFilter(generator, 64);
+        request = new MockHttpServletRequest("GET", "/api/v1/customers/42");
+        if (headerPresent) {
+            request.addHeader("X-Correlation-Id", "4c17ad49-1dad-438c-8c3b-fdd29e5b5096");
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilterInternal() throws Exception {
+        response.reset();
+        filter.doFilterInternal(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -2,8 +2,12 @@ package com.dj.customer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
 @SpringBootApplication
+// Outside the transaction advice, so cache writes happen only after a commit
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class CustomerRegistrationServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,34 @@
+package com.dj.customer.accesslog;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/accesslog: request count, bytes and latency percentiles per
+ * method, route template and status since startup or the last reset
+ * (DELETE /actuator/accesslog, e.g. right after a deploy).
+ */
+@Component
+@Endpoint(id = "accesslog")
+public class AccessLogEndpoint {
+
+    private final RouteLatencies latencies;
+
+    public AccessLogEndpoint(AccessLogFilter filter) {
+        this.latencies = filter.latencies();
+    }
+
+    @ReadOperation
+    public List<RouteLatencies.RouteSnapshot> routes() {
+        return latencies.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        latencies.reset();
+    }
+}
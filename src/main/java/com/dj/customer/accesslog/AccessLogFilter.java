@@ -0,0 +1,104 @@
+package com.dj.customer.accesslog;
+
+import com.dj.customer.filter.CorrelationIdFilter;
+import com.dj.customer.util.NormalizationUtil;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static net.logstash.logback.argument.StructuredArguments.v;
+
+/**
+ * One access record per request: method, route template, status, body bytes
+ * and latency. Every request goes into {@link RouteLatencies}; the log line
+ * goes to the com.dj.customer.access logger, which writes compact records
+ * to access.log through its own async appender, reaches the JSON log with
+ * its fields through root, and can be sampled. Runs inside
+ * {@link CorrelationIdFilter}, so the correlation ID is already set.
+ */
+@Component
+@Order(CorrelationIdFilter.ORDER + 1)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("com.dj.customer.access");
+
+    private static final String FORMAT = "{} {} {} {} {} {}";
+
+    private final RouteLatencies latencies = new RouteLatencies();
+
+    public RouteLatencies latencies() {
+        return latencies;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        String correlationId = response.getHeader(CorrelationIdFilter.CORRELATION_ID_HEADER);
+        CountingResponseWrapper counting = new CountingResponseWrapper(response);
+
+        try {
+            filterChain.doFilter(request, counting);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming export: the body is written after this thread returns
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, counting, start, correlationId);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, counting, start, correlationId);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponseWrapper response, long start, String correlationId) {
+        long micros = (System.nanoTime() - start) / 1000;
+        String method = NormalizationUtil.httpMethod(request.getMethod());
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNMAPPED";
+        int status = response.getStatus();
+        long bytes = response.bytesWritten();
+
+        latencies.record(method, route, status, micros, bytes);
+
+        // "GET /api/v1/customers/{id} 200 143 812 <correlation id>": bytes, then microseconds.
+        // v() prints only the value in the text line and adds the named field to JSON;
+        // the correlation ID is already in the MDC.
+        if (status >= 500) {
+            accessLog.warn(FORMAT, v("method", method), v("route", route), v("status", status),
+                    v("bytes", bytes), v("durationMicros", micros), correlationId);
+        } else if (accessLog.isInfoEnabled()) {
+            accessLog.info(FORMAT, v("method", method), v("route", route), v("status", status),
+                    v("bytes", bytes), v("durationMicros", micros), correlationId);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.dj.customer.accesslog;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per method, route template and status. Request threads
+ * write to an HdrHistogram {@link Recorder}, which is wait-free; a snapshot
+ * swaps out each recorder's interval histogram and folds it into the
+ * running total, so readers never block writers. Latencies are kept in
+ * microseconds with three significant digits.
+ */
+public class RouteLatencies {
+
+    private final ConcurrentMap<Key, Route> routes = new ConcurrentHashMap<>();
+
+    public void record(String method, String route, int status, long micros, long bytes) {
+        Key key = new Key(method, route, status);
+        Route stats = routes.get(key);
+        if (stats == null) {
+            stats = routes.computeIfAbsent(key, k -> new Route());
+        }
+        stats.recorder.recordValue(micros);
+        stats.bytes.add(bytes);
+    }
+
+    public List<RouteSnapshot> snapshot() {
+        List<RouteSnapshot> snapshot = new ArrayList<>(routes.size());
+        routes.forEach((key, route) -> snapshot.add(route.snapshot(key)));
+        snapshot.sort(Comparator.comparing(RouteSnapshot::route)
+                .thenComparing(RouteSnapshot::method)
+                .thenComparingInt(RouteSnapshot::status));
+        return snapshot;
+    }
+
+    public void reset() {
+        routes.clear();
+    }
+
+    private record Key(String method, String route, int status) {
+    }
+
+    public record RouteSnapshot(String method,
+                                String route,
+                                int status,
+                                long count,
+                                long bytes,
+                                double meanMs,
+                                double p50Ms,
+                                double p99Ms,
+                                double p999Ms,
+                                double maxMs) {
+    }
+
+    private static class Route {
+
+        final Recorder recorder = new Recorder(3);
+        final LongAdder bytes = new LongAdder();
+        private final Histogram total = new Histogram(3);
+        private Histogram interval;
+
+        synchronized RouteSnapshot snapshot(Key key) {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return new RouteSnapshot(key.method(), key.route(), key.status(),
+                    total.getTotalCount(),
+                    bytes.sum(),
+                    total.getMean() / 1000.0,
+                    total.getValueAtPercentile(50) / 1000.0,
+                    total.getValueAtPercentile(99) / 1000.0,
+                    total.getValueAtPercentile(99.9) / 1000.0,
+                    total.getMaxValue() / 1000.0);
+        }
+    }
+}
@@ -1,50 +1,62 @@
 package com.dj.customer.aspect;
 
-import com.dj.customer.annotation.Mask;
-import com.dj.customer.util.MaskingUtil;
+import com.dj.customer.masking.MaskingEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Field;
+import static com.dj.customer.logging.LazyArg.lazy;
 
+/**
+ * Logs controller request payloads that carry {@code @Mask} fields.
+ * The payload is rendered through the application ObjectMapper, so the
+ * MaskingModule masks it on the way out and the argument itself is
+ * left untouched for the service layer.
+ */
 @Slf4j
 @Aspect
 @Component
 public class MaskingAspect {
 
-    @Before("execution(* com.dj.customer.controller..*(..))")
-    public void maskRequestPayloads(JoinPoint joinPoint) {
+    private final ObjectMapper objectMapper;
+    private final Timer renderTimer;
 
-        for (Object arg : joinPoint.getArgs()) {
+    public MaskingAspect(ObjectMapper objectMapper, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.renderTimer = Timer.builder("customer.masking.payload")
+                .description("Time to render a masked request payload for the debug log")
+                .register(registry);
+    }
 
-            if (arg == null) continue;
+    @Before("execution(* com.dj.customer.controller..*(..))")
+    public void maskRequestPayloads(JoinPoint joinPoint) {
 
-            Field[] fields = arg.getClass().getDeclaredFields();
+        if (!log.isDebugEnabled()) return;
 
-            for (Field field : fields) {
-                if (field.isAnnotationPresent(Mask.class)) {
+        for (Object arg : joinPoint.getArgs()) {
 
-                    field.setAccessible(true);
-                    try {
-                        String original = (String) field.get(arg);
-                        Mask mask = field.getAnnotation(Mask.class);
+            if (arg == null || MaskingEngine.planFor(arg.getClass()).isEmpty()) continue;
 
-                        String maskedValue = switch (mask.type()) {
-                            case EMAIL -> MaskingUtil.maskEmail(original);
-                            case MOBILE -> MaskingUtil.maskMobile(original);
-                            default -> MaskingUtil.maskGeneric(original);
-                        };
+            log.debug("{} request payload = {}", joinPoint.getSignature().getName(), lazy(() -> render(arg)));
+        }
+    }
 
-                        field.set(arg, maskedValue);
+    private String render(Object arg) {
+        return renderTimer.record(() -> write(arg));
+    }
 
-                    } catch (Exception ignored) {
-                        log.warn("Masking field failed: {}", field.getName());
-                    }
-                }
-            }
+    private String write(Object arg) {
+        try {
+            return objectMapper.writeValueAsString(arg);
+        } catch (JsonProcessingException e) {
+            log.warn("Masking request payload failed: {}", e.getOriginalMessage());
+            return "<unavailable>";
         }
     }
 }
@@ -1,105 +1,231 @@
 package com.dj.customer.controller;
 
+import com.dj.customer.dto.BulkCreateResponse;
+import com.dj.customer.dto.CustomerCursor;
 import com.dj.customer.dto.CustomerPatchRequest;
 import com.dj.customer.dto.CustomerRequest;
 import com.dj.customer.dto.CustomerResponse;
 import com.dj.customer.dto.CustomerUpdateRequest;
+import com.dj.customer.dto.CustomerWindowResponse;
+import com.dj.customer.dto.ExportFormat;
+import com.dj.customer.dto.MatchMode;
+import com.dj.customer.exception.PreconditionFailedException;
+import com.dj.customer.service.CustomerBulkService;
+import com.dj.customer.service.CustomerExportService;
 import com.dj.customer.service.CustomerService;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/customers")
 public class CustomerController {
 
     private final CustomerService service;
+    private final CustomerBulkService bulkService;
+    private final CustomerExportService exportService;
 
-    public CustomerController(CustomerService service) {
+    public CustomerController(CustomerService service,
+                              CustomerBulkService bulkService,
+                              CustomerExportService exportService) {
         this.service = service;
+        this.bulkService = bulkService;
+        this.exportService = exportService;
     }
 
-    //Search+Pagination+Sorting
+    //Search+Pagination+Sorting; withTotal=false returns a Slice and skips the count
     @GetMapping
-    public ResponseEntity<Page<CustomerResponse>> getCustomers(
+    public ResponseEntity<Slice<CustomerResponse>> getCustomers(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String email,
             @RequestParam(required = false) String mobile,
+            @RequestParam(defaultValue = "CONTAINS") MatchMode match,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             Pageable pageable) {
 
-        log.info("Controller: Fetching customers with search & pagination");
+        log.debug("Controller: Fetching customers with search & pagination");
+
+        return ResponseEntity.ok(withTotal
+                ? service.search(name, email, mobile, match, pageable)
+                : service.searchSlice(name, email, mobile, match, pageable)
+        );
+    }
+
+    //Search+keyset pagination: start with an empty cursor, then pass back nextCursor
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CustomerWindowResponse> scrollCustomers(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String mobile,
+            @RequestParam(defaultValue = "CONTAINS") MatchMode match,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "ID") CustomerCursor.SeekKey seek,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        log.debug("Controller: Scrolling customers with search & keyset pagination");
+
+        CustomerCursor position = cursor.isEmpty() ? CustomerCursor.start(seek) : CustomerCursor.decode(cursor);
 
         return ResponseEntity.ok(
-                service.search(name, email, mobile, pageable)
+                service.scroll(name, email, mobile, match, position, Math.max(1, Math.min(size, 1000)), withTotal)
         );
     }
 
+    //Streaming export of all matching customers
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String mobile,
+            @RequestParam(defaultValue = "CONTAINS") MatchMode match,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        log.debug("Controller: Exporting customers format={}", format);
+
+        StreamingResponseBody body = out -> exportService.export(name, email, mobile, match, format, out);
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("customers." + format.name().toLowerCase())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    // The ETag lets clients poll with If-None-Match; a match is answered with 304 and no body
     @GetMapping("/{id}")
     public ResponseEntity<CustomerResponse> getById(@PathVariable Long id) {
 
-        log.info("Controller: Fetching customer with id={}", id);
+        log.debug("Controller: Fetching customer with id={}", id);
 
         CustomerResponse response = service.getById(id);
 
-        log.info("Controller: Successfully fetched customer id={}", id);
-        log.info("Controller: Response = {}", response);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag(response)).body(response);
     }
 
     @PostMapping
     public ResponseEntity<CustomerResponse> create(@Valid @RequestBody CustomerRequest request) {
 
-        log.info("Controller: Creating new customer name={}", request.getFullName());
-        log.info("Create customer request = {}", request);
+        log.debug("Controller: Creating new customer");
 
         CustomerResponse response = service.create(request);
 
-        log.info("Controller: Customer created successfully id={}", response.getId());
         return ResponseEntity.status(201).body(response);
     }
 
+    //Bulk create from a JSON array or NDJSON stream
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkCreateResponse> createBulk(InputStream body) throws IOException {
+
+        log.debug("Controller: Bulk creating customers");
+
+        BulkCreateResponse response = bulkService.create(body);
+
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
 
-        log.info("Controller: Deleting customer id={}", id);
+        log.debug("Controller: Deleting customer id={}", id);
 
         service.delete(id);
 
-        log.info("Controller: Customer deleted id={}", id);
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<CustomerResponse> update(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody CustomerUpdateRequest request) {
 
-        log.info("Controller: Updating customer id={} with name={}",
-                id, request.getFullName());
+        log.debug("Controller: Updating customer id={}", id);
 
-        CustomerResponse response = service.update(id, request);
+        CustomerResponse response = service.update(id, request, expectedVersions(ifMatch));
 
-        log.info("Controller: Customer updated successfully id={}", id);
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag(response)).body(response);
     }
 
     @PatchMapping("/{id}")
     public ResponseEntity<CustomerResponse> patch(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody CustomerPatchRequest request) {
 
-        log.info("Controller: Partially updating customer id={}", id);
+        log.debug("Controller: Partially updating customer id={}", id);
 
-        CustomerResponse response = service.patch(id, request);
+        CustomerResponse response = service.patch(id, request, expectedVersions(ifMatch));
 
-        log.info("Controller: Customer partially updated id={}", id);
+        return ResponseEntity.ok().eTag(etag(response)).body(response);
+    }
 
-        return ResponseEntity.ok(response);
+    private static String etag(CustomerResponse response) {
+        return "\"" + response.getVersion() + "\"";
+    }
+
+    /**
+     * Versions named by the strong ETags of an If-Match list, e.g.
+     * {@code "3", "4"}; null when the header is absent or "*". Weak and
+     * malformed tags never match, so a list with no usable tag fails.
+     */
+    private static List<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+
+        List<Long> versions = new ArrayList<>(1);
+        int i = 0;
+        int length = ifMatch.length();
+        while (i < length) {
+            char c = ifMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            if (c == '*') {
+                return null;
+            }
+
+            boolean weak = ifMatch.startsWith("W/", i);
+            int open = weak ? i + 2 : i;
+            int close = open < length && ifMatch.charAt(open) == '"' ? ifMatch.indexOf('"', open + 1) : -1;
+            if (close < 0) {
+                break;
+            }
+            if (!weak) {
+                parseVersion(ifMatch.substring(open + 1, close), versions);
+            }
+            i = close + 1;
+        }
+
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+        return versions;
+    }
+
+    private static void parseVersion(String tag, List<Long> versions) {
+        try {
+            versions.add(Long.parseLong(tag));
+        } catch (NumberFormatException e) {
+            // not one of ours, so it cannot match
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.dj.customer.datasource;
+
+import com.dj.customer.util.NormalizationUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection wait and hold times per endpoint. Hikari reports them on the
+ * thread that borrows and returns the connection, so the request bound to
+ * that thread identifies the endpoint; anything else (startup, async
+ * streaming, scheduled work) is counted under {@value #NO_REQUEST}.
+ */
+@Component
+public class ConnectionPoolStats {
+
+    static final String NO_REQUEST = "background";
+
+    private final ConcurrentMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    void recordWait(long nanos) {
+        RouteStats stats = current();
+        stats.acquisitions.increment();
+        stats.waitNanos.add(nanos);
+        stats.maxWaitNanos.accumulate(nanos);
+    }
+
+    void recordHold(long millis) {
+        RouteStats stats = current();
+        stats.releases.increment();
+        stats.holdMillis.add(millis);
+        stats.maxHoldMillis.accumulate(millis);
+    }
+
+    void recordTimeout() {
+        current().timeouts.increment();
+    }
+
+    public Map<String, RouteSnapshot> snapshot() {
+        Map<String, RouteSnapshot> snapshot = new TreeMap<>();
+        routes.forEach((route, stats) -> snapshot.put(route, stats.snapshot()));
+        return snapshot;
+    }
+
+    public void reset() {
+        routes.clear();
+    }
+
+    private RouteStats current() {
+        String route = currentRoute();
+        RouteStats stats = routes.get(route);
+        return stats != null ? stats : routes.computeIfAbsent(route, key -> new RouteStats());
+    }
+
+    // "GET /api/v1/customers/{id}": the known method and mapped pattern keep the number of routes bounded
+    static String currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NO_REQUEST;
+        }
+
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return NormalizationUtil.httpMethod(request.getMethod()) + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+
+    public record RouteSnapshot(long acquisitions,
+                                double meanWaitMs,
+                                double maxWaitMs,
+                                long releases,
+                                double meanHoldMs,
+                                long maxHoldMs,
+                                long timeouts) {
+    }
+
+    private static class RouteStats {
+
+        final LongAdder acquisitions = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        final LongAdder releases = new LongAdder();
+        final LongAdder holdMillis = new LongAdder();
+        final LongAccumulator maxHoldMillis = new LongAccumulator(Math::max, 0);
+        final LongAdder timeouts = new LongAdder();
+
+        RouteSnapshot snapshot() {
+            long acquired = acquisitions.sum();
+            long released = releases.sum();
+            return new RouteSnapshot(
+                    acquired,
+                    acquired == 0 ? 0 : waitNanos.sum() / 1e6 / acquired,
+                    maxWaitNanos.get() / 1e6,
+                    released,
+                    released == 0 ? 0 : (double) holdMillis.sum() / released,
+                    maxHoldMillis.get(),
+                    timeouts.sum());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.dj.customer.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * /actuator/pool: current pool occupancy plus connection wait and hold times
+ * per endpoint since startup or the last reset (DELETE /actuator/pool).
+ */
+@Component
+@Endpoint(id = "pool")
+public class PoolStatsEndpoint {
+
+    private final DataSource dataSource;
+    private final ConnectionPoolStats stats;
+
+    public PoolStatsEndpoint(DataSource dataSource, ConnectionPoolStats stats) {
+        this.dataSource = dataSource;
+        this.stats = stats;
+    }
+
+    @ReadOperation
+    public PoolReport pool() {
+        return new PoolReport(occupancy(), stats.snapshot());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        stats.reset();
+    }
+
+    // Null until the pool has started
+    private Occupancy occupancy() {
+        try {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool == null) {
+                return null;
+            }
+
+            HikariConfigMXBean config = hikari.getHikariConfigMXBean();
+            return new Occupancy(config.getPoolName(), config.getMaximumPoolSize(),
+                    pool.getTotalConnections(), pool.getActiveConnections(),
+                    pool.getIdleConnections(), pool.getThreadsAwaitingConnection());
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    public record PoolReport(Occupancy pool, Map<String, ConnectionPoolStats.RouteSnapshot> routes) {
+    }
+
+    public record Occupancy(String name, int maximum, int total, int active, int idle, int waiting) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.dj.customer.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs {@link RouteMetricsTrackerFactory} on the Hikari pool before it
+ * starts. Spring Boot only binds its own Micrometer tracker to pools without
+ * one, so the hikaricp.* meters come from the delegate instead.
+ */
+@Component
+public class PoolStatsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ConnectionPoolStats> stats;
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public PoolStatsPostProcessor(ObjectProvider<ConnectionPoolStats> stats,
+                                  ObjectProvider<MeterRegistry> registry) {
+        this.stats = stats;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari
+                && hikari.getMetricsTrackerFactory() == null
+                && hikari.getMetricRegistry() == null) {
+            hikari.setMetricsTrackerFactory(new RouteMetricsTrackerFactory(stats.getObject(), registry));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,64 @@
+package com.dj.customer.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Hikari metrics tracker that feeds {@link ConnectionPoolStats} and still
+ * publishes the usual hikaricp.* meters when a registry is available.
+ * Created when the pool starts, by which time the registry exists.
+ */
+class RouteMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private final ConnectionPoolStats stats;
+    private final ObjectProvider<MeterRegistry> registry;
+
+    RouteMetricsTrackerFactory(ConnectionPoolStats stats, ObjectProvider<MeterRegistry> registry) {
+        this.stats = stats;
+        this.registry = registry;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        IMetricsTracker delegate = meterRegistry == null
+                ? new IMetricsTracker() { }
+                : new MicrometerMetricsTrackerFactory(meterRegistry).create(poolName, poolStats);
+        return new RouteMetricsTracker(delegate, stats);
+    }
+
+    private record RouteMetricsTracker(IMetricsTracker delegate, ConnectionPoolStats stats) implements IMetricsTracker {
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            stats.recordWait(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            stats.recordHold(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            delegate.recordConnectionTimeout();
+            stats.recordTimeout();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.dj.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResponse {
+
+    private int received;
+    private int created;
+    private int failed;
+    // Ids of the created items in index order, as ranges; at most customer.bulk.max-reported-ranges of them
+    private List<BulkCreatedRange> createdRanges;
+    // Failed items by index, at most customer.bulk.max-reported-failures of them
+    private List<BulkItemResult> failures;
+}
@@ -0,0 +1,24 @@
+package com.dj.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Consecutive items of a bulk request that were created with consecutive
+ * ids: items index..index+count-1 got ids id..id+count-1. Ids come from the
+ * pooled sequence, so a range usually ends only at a failed item or at the
+ * end of an allocated id block.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreatedRange {
+
+    // Zero-based position of the first item in the request body
+    private int index;
+    private long id;
+    private int count;
+}
@@ -0,0 +1,30 @@
+package com.dj.customer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    // Zero-based position of the item in the request body
+    private int index;
+    private Status status;
+    private Long id;
+    private List<String> errors;
+
+    public enum Status {
+        INVALID,
+        // Email or mobile already registered; id is the existing customer when known
+        DUPLICATE,
+        FAILED
+    }
+}
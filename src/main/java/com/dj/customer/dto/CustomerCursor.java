@@ -0,0 +1,66 @@
+package com.dj.customer.dto;
+
+import com.dj.customer.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Position in a keyset scroll over customers. Clients only ever see the
+ * opaque, URL-safe token produced by {@link #encode()}.
+ */
+public record CustomerCursor(SeekKey seek, Long id, String fullName) {
+
+    private static final char SEPARATOR = '\n';
+
+    public enum SeekKey {
+        // ORDER BY id
+        ID,
+        // ORDER BY fullName, id
+        FULL_NAME
+    }
+
+    public static CustomerCursor start(SeekKey seek) {
+        return new CustomerCursor(seek, null, null);
+    }
+
+    public boolean isStart() {
+        return id == null;
+    }
+
+    // Keyset values in sort order, as expected by ScrollPosition.forward
+    public Map<String, Object> keys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (seek == SeekKey.FULL_NAME) {
+            keys.put("fullName", fullName);
+        }
+        keys.put("id", id);
+        return keys;
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder().append(seek.name()).append(SEPARATOR).append(id);
+        if (seek == SeekKey.FULL_NAME) {
+            raw.append(SEPARATOR).append(fullName);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CustomerCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 3);
+            SeekKey seek = SeekKey.valueOf(parts[0]);
+            Long id = Long.valueOf(parts[1]);
+            if (seek == SeekKey.FULL_NAME) {
+                return new CustomerCursor(seek, id, parts[2]);
+            }
+            return new CustomerCursor(seek, id, null);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.dj.customer.dto;
 
 import com.dj.customer.annotation.Mask;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,4 +14,7 @@ public class CustomerResponse {
     private String email;
     @Mask(type = Mask.MaskType.MOBILE)
     private String mobile;
+    // Sent as the ETag header, not in the body
+    @JsonIgnore
+    private Long version;
 }
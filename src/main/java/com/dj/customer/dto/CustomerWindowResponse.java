@@ -0,0 +1,25 @@
+package com.dj.customer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CustomerWindowResponse {
+
+    private List<CustomerResponse> content;
+    private int size;
+    private boolean hasNext;
+    // Pass back as ?cursor= to fetch the next window; absent on the last one
+    private String nextCursor;
+    // Only present when requested with withTotal=true
+    private Long totalElements;
+}
@@ -0,0 +1,11 @@
+package com.dj.customer.dto;
+
+// How search filters are compared with stored values
+public enum MatchMode {
+    // Case-insensitive substring on the raw columns (LIKE '%x%')
+    CONTAINS,
+    // Equality on the normalized, indexed columns
+    EXACT,
+    // Prefix on the normalized, indexed columns (LIKE 'x%')
+    PREFIX
+}
@@ -1,20 +1,39 @@
 package com.dj.customer.entity;
 
+import com.dj.customer.util.NormalizationUtil;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer")
+// One customer per email and per mobile; the unique constraints also index the lookups.
+// (fullName, id) serves the FULL_NAME keyset scroll, which sorts and seeks on the raw name
+@Table(indexes = {
+        @Index(name = "idx_customer_full_name_normalized", columnList = "fullNameNormalized"),
+        @Index(name = "idx_customer_full_name_id", columnList = "fullName, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_customer_email_normalized", columnNames = "emailNormalized"),
+        @UniqueConstraint(name = "uk_customer_mobile_digits", columnNames = "mobileDigits")
+})
 public class Customer {
 
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     private Long id;
 
     private String fullName;
@@ -22,4 +41,25 @@ public class Customer {
     private String email;
 
     private String mobile;
+
+    // Optimistic lock; exposed to clients as the ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Lookup columns derived from the fields above on every write
+    private String fullNameNormalized;
+
+    private String emailNormalized;
+
+    private String mobileDigits;
+
+    @PrePersist
+    @PreUpdate
+    void normalize() {
+        fullNameNormalized = NormalizationUtil.lowerCase(fullName);
+        emailNormalized = NormalizationUtil.emailKey(email);
+        mobileDigits = NormalizationUtil.mobileKey(mobile);
+    }
 }
@@ -0,0 +1,20 @@
+package com.dj.customer.exception;
+
+import lombok.Getter;
+
+/**
+ * A customer with the same normalized email or mobile already exists.
+ * existingId is null when the other registration has not committed yet.
+ */
+@Getter
+public class DuplicateCustomerException extends StacklessException {
+
+    private final String field;
+    private final Long existingId;
+
+    public DuplicateCustomerException(String field, Long existingId) {
+        super("Customer already exists with this " + field + " id=" + existingId);
+        this.field = field;
+        this.existingId = existingId;
+    }
+}
@@ -1,21 +1,152 @@
 package com.dj.customer.exception;
 
+import com.dj.customer.index.CustomerContactIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps exceptions to RFC 7807 problem details (application/problem+json).
+ * Status, title and detail are fixed per exception type and never echo the
+ * exception message, so nothing internal leaks and no text is formatted on
+ * the error path. Spring MVC's own exceptions, including @Valid failures,
+ * are handled by {@link ResponseEntityExceptionHandler}. Every handled
+ * exception is counted as customer.errors, tagged by exception type.
+ */
+@Slf4j
 @ControllerAdvice
-public class GlobalExceptionHandler {
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Problem NOT_FOUND =
+            new Problem(HttpStatus.NOT_FOUND, "Customer not found");
+    private static final Problem INVALID_CURSOR =
+            new Problem(HttpStatus.BAD_REQUEST, "Invalid cursor; start again without one");
+    private static final Problem PRECONDITION_FAILED =
+            new Problem(HttpStatus.PRECONDITION_FAILED, "Customer has changed; re-read it and retry with the new ETag");
+    private static final Problem CONFLICT =
+            new Problem(HttpStatus.CONFLICT, "Customer was modified concurrently");
+    private static final Problem DUPLICATE_EMAIL =
+            new Problem(HttpStatus.CONFLICT, "A customer with this email is already registered");
+    private static final Problem DUPLICATE_MOBILE =
+            new Problem(HttpStatus.CONFLICT, "A customer with this mobile is already registered");
+    private static final Problem INTERNAL_ERROR =
+            new Problem(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error");
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+
+    // Uncounted where there is no registry, e.g. in web slice tests
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry.getIfAvailable();
+    }
 
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<String> handleNotFound(ResourceNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    public ResponseEntity<ProblemDetail> handleNotFound(ResourceNotFoundException ex) {
+        return problem(ex, NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursor(InvalidCursorException ex) {
+        return problem(ex, INVALID_CURSOR);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ProblemDetail> handlePreconditionFailed(PreconditionFailedException ex) {
+        return problem(ex, PRECONDITION_FAILED);
+    }
+
+    // A concurrent write committed first; the client should re-read and retry
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetail> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return problem(ex, CONFLICT);
+    }
+
+    // existingId lets a retrying client pick up the customer its first attempt created
+    @ExceptionHandler(DuplicateCustomerException.class)
+    public ResponseEntity<ProblemDetail> handleDuplicate(DuplicateCustomerException ex) {
+        ResponseEntity<ProblemDetail> response = problem(ex,
+                CustomerContactIndex.EMAIL.equals(ex.getField()) ? DUPLICATE_EMAIL : DUPLICATE_MOBILE);
+        if (ex.getExistingId() != null) {
+            response.getBody().setProperty("existingId", ex.getExistingId());
+        }
+        return response;
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> handleGeneric(Exception ex) {
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body("Unexpected error: " + ex.getMessage());
+    public ResponseEntity<ProblemDetail> handleGeneric(Exception ex) {
+        log.error("Unhandled exception", ex);
+        return problem(ex, INTERNAL_ERROR);
+    }
+
+    // Lists each rejected field; the values themselves are not echoed
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
+                                                                  HttpHeaders headers,
+                                                                  HttpStatusCode status,
+                                                                  WebRequest request) {
+        List<String> errors = new ArrayList<>(ex.getErrorCount());
+        for (FieldError error : ex.getFieldErrors()) {
+            errors.add(error.getField() + ": " + error.getDefaultMessage());
+        }
+        ex.getBody().setProperty("errors", errors);
+        return super.handleMethodArgumentNotValid(ex, headers, status, request);
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex,
+                                                             Object body,
+                                                             HttpHeaders headers,
+                                                             HttpStatusCode statusCode,
+                                                             WebRequest request) {
+        count(ex);
+        return super.handleExceptionInternal(ex, body, headers, statusCode, request);
+    }
+
+    private ResponseEntity<ProblemDetail> problem(Exception ex, Problem problem) {
+        count(ex);
+        return ResponseEntity.status(problem.status()).body(problem.toDetail());
+    }
+
+    private void count(Exception ex) {
+        if (registry == null) {
+            return;
+        }
+        Counter counter = counters.get(ex.getClass());
+        if (counter == null) {
+            counter = counters.computeIfAbsent(ex.getClass(), type -> Counter.builder("customer.errors")
+                    .description("Exceptions mapped to an error response")
+                    .tag("exception", type.getSimpleName())
+                    .register(registry));
+        }
+        counter.increment();
+    }
+
+    /**
+     * The fixed part of a response. Spring sets the instance (request path)
+     * on the returned ProblemDetail, so each response gets its own copy.
+     */
+    private record Problem(HttpStatus status, String detail) {
+
+        ProblemDetail toDetail() {
+            return ProblemDetail.forStatusAndDetail(status, detail);
+        }
     }
-}
\ No newline at end of file
+}
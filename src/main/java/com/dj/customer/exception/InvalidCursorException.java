@@ -0,0 +1,8 @@
+package com.dj.customer.exception;
+
+public class InvalidCursorException extends StacklessException {
+
+    public InvalidCursorException(String msg) {
+        super(msg);
+    }
+}
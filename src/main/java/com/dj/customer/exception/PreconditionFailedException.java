@@ -0,0 +1,8 @@
+package com.dj.customer.exception;
+
+public class PreconditionFailedException extends StacklessException {
+
+    public PreconditionFailedException(String msg) {
+        super(msg);
+    }
+}
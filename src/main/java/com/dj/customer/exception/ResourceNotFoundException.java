@@ -1,8 +1,19 @@
 package com.dj.customer.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends StacklessException {
 
-    public ResourceNotFoundException(String msg) {
-        super(msg);
+    private final String resource;
+    private final Object id;
+
+    // The response detail is fixed, so the message is only built when something reads it
+    public ResourceNotFoundException(String resource, Object id) {
+        super(null);
+        this.resource = resource;
+        this.id = id;
+    }
+
+    @Override
+    public String getMessage() {
+        return resource + " not found id=" + id;
     }
 }
@@ -0,0 +1,14 @@
+package com.dj.customer.exception;
+
+/**
+ * Base for the expected client errors (unknown id, bad cursor, stale
+ * version). They are thrown for routine requests, crawlers probing ids
+ * included, and are always mapped to a response, so no stack trace is
+ * filled in and none is suppressed.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    protected StacklessException(String msg) {
+        super(msg, null, false, false);
+    }
+}
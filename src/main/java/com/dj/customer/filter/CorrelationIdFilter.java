@@ -8,18 +8,41 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
 @Slf4j
 @Component
+@Order(CorrelationIdFilter.ORDER)
 public class CorrelationIdFilter extends OncePerRequestFilter {
 
-    private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    // Late in the chain like before, but ahead of the access log filter
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    private static final String TRACEPARENT_HEADER = "traceparent";
     private static final String MDC_CORRELATION_ID_KEY = "correlationId";
+    private static final String MDC_TRACE_ID_KEY = "traceId";
+
+    private final CorrelationIdGenerator generator;
+    private final int maxLength;
+
+    @Autowired
+    public CorrelationIdFilter(@Value("${customer.correlation-id.generator:uuid7}") String generator,
+                               @Value("${customer.correlation-id.max-length:64}") int maxLength) {
+        this(CorrelationIdGenerator.of(generator), maxLength);
+    }
+
+    CorrelationIdFilter(CorrelationIdGenerator generator, int maxLength) {
+        this.generator = generator;
+        this.maxLength = maxLength;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -27,27 +50,83 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
-        // 1. Check if request already has correlation ID
-        String correlationId = request.getHeader(CORRELATION_ID_HEADER);
+        // 1. W3C trace context from an upstream caller, if well-formed
+        String traceId = traceId(request.getHeader(TRACEPARENT_HEADER));
 
-        // 2. Generate if missing
-        if (correlationId == null || correlationId.isBlank()) {
-            correlationId = UUID.randomUUID().toString();
-            log.debug("Generated new Correlation ID: {}", correlationId);
+        // 2. Incoming correlation ID, else the trace ID, else a new one. Header values end up
+        //    in logs and the response, so anything outside [A-Za-z0-9._-] or too long is replaced
+        String correlationId = request.getHeader(CORRELATION_ID_HEADER);
+        if (!isValidId(correlationId, maxLength)) {
+            if (correlationId != null) {
+                log.debug("Replacing invalid Correlation ID header of length {}", correlationId.length());
+            }
+            correlationId = traceId != null ? traceId : generator.next();
         }
 
         // 3. Put into MDC so logback can use it
         MDC.put(MDC_CORRELATION_ID_KEY, correlationId);
+        if (traceId != null) {
+            MDC.put(MDC_TRACE_ID_KEY, traceId);
+        }
 
         // 4. Add to response header
         response.addHeader(CORRELATION_ID_HEADER, correlationId);
 
         try {
-            log.info("[{}] Request Started: {} {}", correlationId, request.getMethod(), request.getRequestURI());
             filterChain.doFilter(request, response);
         } finally {
-            log.info("[{}] Request Completed: {} {}", correlationId, request.getMethod(), request.getRequestURI());
             MDC.remove(MDC_CORRELATION_ID_KEY);
+            MDC.remove(MDC_TRACE_ID_KEY);
+        }
+    }
+
+    static boolean isValidId(String value, int maxLength) {
+        if (value == null || value.isEmpty() || value.length() > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // "00-<32 hex trace-id>-<16 hex parent-id>-<2 hex flags>"; null unless valid and non-zero
+    static String traceId(String traceparent) {
+        if (traceparent == null || traceparent.length() != 55
+                || !traceparent.startsWith("00-") || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+
+        String traceId = traceparent.substring(3, 35);
+        String parentId = traceparent.substring(36, 52);
+        if (!isLowerHex(traceId) || !isLowerHex(parentId) || !isLowerHex(traceparent.substring(53))
+                || isZero(traceId) || isZero(parentId)) {
+            return null;
+        }
+        return traceId;
+    }
+
+    private static boolean isLowerHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
         }
+        return true;
     }
 }
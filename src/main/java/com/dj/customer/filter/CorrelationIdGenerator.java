@@ -0,0 +1,65 @@
+package com.dj.customer.filter;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source of correlation ids for requests that arrive without one. Selected
+ * with customer.correlation-id.generator:
+ * <ul>
+ *   <li>{@code uuid7}: time-ordered UUIDv7 from ThreadLocalRandom (default)</li>
+ *   <li>{@code counter}: shortest ids; a per-start prefix plus a sequence
+ *       handed out to threads in blocks</li>
+ *   <li>{@code random}: UUID.randomUUID(), which goes through SecureRandom</li>
+ * </ul>
+ */
+public interface CorrelationIdGenerator {
+
+    String next();
+
+    static CorrelationIdGenerator of(String type) {
+        return switch (type) {
+            case "uuid7" -> new UuidV7();
+            case "counter" -> new Counter();
+            case "random" -> () -> UUID.randomUUID().toString();
+            default -> throw new IllegalArgumentException("Unknown correlation id generator: " + type);
+        };
+    }
+
+    // 48-bit Unix milliseconds, version 7, then 74 random bits (RFC 9562)
+    final class UuidV7 implements CorrelationIdGenerator {
+
+        @Override
+        public String next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long msb = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+            long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            return new UUID(msb, lsb).toString();
+        }
+    }
+
+    // "<start millis>-<random>-<sequence>" in hex; unique per start, ordered per thread
+    final class Counter implements CorrelationIdGenerator {
+
+        private static final int BLOCK_SIZE = 1024;
+
+        private final String prefix = Long.toHexString(System.currentTimeMillis()) + "-"
+                + Integer.toHexString(ThreadLocalRandom.current().nextInt(0x10000)) + "-";
+        private final AtomicLong blocks = new AtomicLong();
+
+        // {next, limit}; a thread touches the shared counter once per block. Virtual threads
+        // are short-lived, so for them this is one shared increment per request
+        private final ThreadLocal<long[]> range = ThreadLocal.withInitial(() -> new long[2]);
+
+        @Override
+        public String next() {
+            long[] current = range.get();
+            if (current[0] == current[1]) {
+                current[0] = blocks.getAndIncrement() * BLOCK_SIZE;
+                current[1] = current[0] + BLOCK_SIZE;
+            }
+            return prefix + Long.toHexString(current[0]++);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.dj.customer.index;
+
+import com.dj.customer.exception.DuplicateCustomerException;
+import com.dj.customer.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Normalized email and mobile of every customer, mapped to who holds them,
+ * so a duplicate registration is found with two hash lookups. A create
+ * claims both values with putIfAbsent before inserting, which keeps two
+ * concurrent creates of the same person apart without a lock; the loser
+ * waits briefly for the winner's id. Each customer's entry is also kept by
+ * id, so an update or delete drops the values it no longer holds once it
+ * commits. The unique constraints on the table stay authoritative: a hit
+ * is checked against the row before it is reported, and a duplicate the
+ * index missed is caught by the database and resolved with
+ * {@link #duplicateOf}.
+ */
+@Slf4j
+@Component
+public class CustomerContactIndex {
+
+    public static final String EMAIL = "email";
+    public static final String MOBILE = "mobile";
+
+    private static final int LOAD_FETCH_SIZE = 1000;
+    // A competing create is a single insert; beyond this it is reported without an id
+    private static final long PENDING_WAIT_MS = 2000;
+
+    private final ConcurrentMap<String, Reservation> emails = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Reservation> mobiles = new ConcurrentHashMap<>();
+    // Committed customers only, to find the values an update or delete gives up
+    private final ConcurrentMap<Long, Reservation> customers = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public CustomerContactIndex(JdbcTemplate jdbcTemplate,
+                                @Value("${customer.contact-index.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) return;
+
+        long start = System.nanoTime();
+        long[] count = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id, email_normalized, mobile_digits FROM customer");
+            statement.setFetchSize(LOAD_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            // Values claimed since the load started are newer than the row just read
+            Reservation holder = new Reservation(rs.getString(2), rs.getString(3));
+            holder.id.complete(rs.getLong(1));
+            if (holder.email != null) emails.putIfAbsent(holder.email, holder);
+            if (holder.mobile != null) mobiles.putIfAbsent(holder.mobile, holder);
+            customers.putIfAbsent(rs.getLong(1), holder);
+            count[0]++;
+        });
+
+        log.info("Contact index loaded customers={} in {} ms", count[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Claims email and mobile (normalized keys, either may be null) for a
+     * new customer. Complete the reservation with the new id once the row
+     * is committed, or release it if the insert fails.
+     *
+     * @param waitForPending whether to wait for a competing create to commit
+     *                       so its id can be reported; bulk inserts, which
+     *                       hold their own reservations until the chunk
+     *                       commits, must not
+     * @throws DuplicateCustomerException if another customer holds either value
+     */
+    public Reservation reserve(String email, String mobile, boolean waitForPending) {
+        Reservation reservation = new Reservation(email, mobile);
+        if (!enabled) return reservation;
+
+        while (true) {
+            Reservation emailHolder = email == null ? null : emails.putIfAbsent(email, reservation);
+            if (emailHolder != null) {
+                checkHolder(EMAIL, emails, email, emailHolder, waitForPending);
+                continue;
+            }
+            Reservation mobileHolder = mobile == null ? null : mobiles.putIfAbsent(mobile, reservation);
+            if (mobileHolder != null) {
+                if (email != null) emails.remove(email, reservation);
+                checkHolder(MOBILE, mobiles, mobile, mobileHolder, waitForPending);
+                continue;
+            }
+            return reservation;
+        }
+    }
+
+    /**
+     * For an update of customer id: fails if another customer holds the new
+     * email or mobile. A create still pending on either value is waited for,
+     * so one that fails does not block the update. Does not claim the
+     * values; the unique constraints decide a race with a concurrent write.
+     */
+    public void checkAvailable(long id, String email, String mobile) {
+        if (!enabled) return;
+
+        checkAvailable(id, EMAIL, emails, email);
+        checkAvailable(id, MOBILE, mobiles, mobile);
+    }
+
+    /**
+     * After an update has been flushed: once it commits, the customer holds
+     * these values and gives up its previous ones. A create still pending on
+     * either value keeps its claim; the unique constraint has decided
+     * between the two.
+     */
+    public void update(long id, String email, String mobile) {
+        if (!enabled) return;
+
+        Reservation holder = new Reservation(email, mobile);
+        holder.id.complete(id);
+        TransactionUtil.afterCommit(() -> {
+            if (email != null) emails.merge(email, holder, CustomerContactIndex::unlessPending);
+            if (mobile != null) mobiles.merge(mobile, holder, CustomerContactIndex::unlessPending);
+            drop(customers.put(id, holder));
+        });
+    }
+
+    // After a delete commits, the customer's values are free
+    public void remove(long id) {
+        if (!enabled) return;
+
+        TransactionUtil.afterCommit(() -> drop(customers.remove(id)));
+    }
+
+    /**
+     * The duplicate behind a unique constraint violation on insert or
+     * update, looked up in the table, or null if no other row holds email
+     * or mobile (the violation was something else, or the row is gone).
+     */
+    public DuplicateCustomerException duplicateOf(Long id, String email, String mobile) {
+        List<DuplicateCustomerException> duplicates = jdbcTemplate.query(
+                "SELECT id, email_normalized FROM customer WHERE (email_normalized = ? OR mobile_digits = ?)"
+                        + " AND id <> ?",
+                (rs, row) -> new DuplicateCustomerException(
+                        email != null && email.equals(rs.getString(2)) ? EMAIL : MOBILE, rs.getLong(1)),
+                email, mobile, id == null ? -1L : id);
+        return duplicates.isEmpty() ? null : duplicates.get(0);
+    }
+
+    private void checkAvailable(long id, String field, ConcurrentMap<String, Reservation> index, String key) {
+        if (key == null) return;
+
+        Reservation holder = index.get(key);
+        if (holder == null) return;
+
+        // A pending create either commits, taking the value, or fails and frees it
+        Long holderId = holder.await();
+        if (holderId == null) {
+            if (holder.id.isDone()) return;
+            throw new DuplicateCustomerException(field, null);
+        }
+        if (holderId != id && holds(holderId, field, key)) {
+            throw new DuplicateCustomerException(field, holderId);
+        }
+    }
+
+    // Throws if the holder is live; otherwise drops its stale entry so the caller can retry
+    private void checkHolder(String field, ConcurrentMap<String, Reservation> index, String key,
+                             Reservation holder, boolean waitForPending) {
+        Long holderId = waitForPending ? holder.await() : holder.id.getNow(null);
+        if (holderId == null && !holder.id.isDone()) {
+            throw new DuplicateCustomerException(field, null);
+        }
+        if (holderId != null && holds(holderId, field, key)) {
+            throw new DuplicateCustomerException(field, holderId);
+        }
+        index.remove(key, holder);
+    }
+
+    private static Reservation unlessPending(Reservation current, Reservation next) {
+        return current.id.isDone() ? next : current;
+    }
+
+    // Removes the values of a replaced or deleted entry, unless someone else holds them by now
+    private void drop(Reservation previous) {
+        if (previous == null) return;
+        if (previous.email != null) emails.remove(previous.email, previous);
+        if (previous.mobile != null) mobiles.remove(previous.mobile, previous);
+    }
+
+    // An entry can still be stale after a write the index did not see; the row is the truth
+    private boolean holds(long id, String field, String key) {
+        String column = EMAIL.equals(field) ? "email_normalized" : "mobile_digits";
+        List<String> values = jdbcTemplate.queryForList(
+                "SELECT " + column + " FROM customer WHERE id = ?", String.class, id);
+        return !values.isEmpty() && Objects.equals(values.get(0), key);
+    }
+
+    /**
+     * Email and mobile claimed by one customer; completed with its id when
+     * the row is committed, or with null when the insert failed.
+     */
+    public final class Reservation {
+
+        private final String email;
+        private final String mobile;
+        private final CompletableFuture<Long> id = new CompletableFuture<>();
+
+        private Reservation(String email, String mobile) {
+            this.email = email;
+            this.mobile = mobile;
+        }
+
+        public void complete(long customerId) {
+            id.complete(customerId);
+            if (enabled) customers.put(customerId, this);
+        }
+
+        public void release() {
+            if (email != null) emails.remove(email, this);
+            if (mobile != null) mobiles.remove(mobile, this);
+            id.complete(null);
+        }
+
+        private Long await() {
+            try {
+                return id.get(PENDING_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException | TimeoutException e) {
+                return null;
+            }
+        }
+    }
+}
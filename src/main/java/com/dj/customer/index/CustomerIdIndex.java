@@ -0,0 +1,80 @@
+package com.dj.customer.index;
+
+import com.dj.customer.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+
+/**
+ * The ids of all existing customers, so lookups of ids that were never
+ * created or have been deleted are answered without a query. The services
+ * add ids as they are created and remove them once a delete commits; the
+ * bitmap is loaded from the table once the application is ready. Until
+ * then, and for ids outside the bitmap's range, every id may exist, so
+ * the index can return false positives but never rejects a real customer.
+ */
+@Slf4j
+@Component
+public class CustomerIdIndex {
+
+    private static final int LOAD_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private volatile IdBitmap ids = new IdBitmap();
+    private volatile boolean ready;
+
+    public CustomerIdIndex(JdbcTemplate jdbcTemplate,
+                           @Value("${customer.id-index.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) return;
+
+        long start = System.nanoTime();
+        // Lookups pass through while the new bitmap fills; writes already go to it
+        ready = false;
+        ids = new IdBitmap();
+        long[] count = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT id FROM customer");
+            statement.setFetchSize(LOAD_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            add(rs.getLong(1));
+            count[0]++;
+        });
+        ready = true;
+
+        log.info("Id index loaded customers={} in {} ms", count[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * False only when the customer certainly does not exist.
+     */
+    public boolean mightExist(Long id) {
+        if (!ready || id == null || id > IdBitmap.MAX_ID) return true;
+        return ids.contains(id);
+    }
+
+    public void add(Long id) {
+        if (!enabled || id == null || id > IdBitmap.MAX_ID) return;
+        ids.add(id);
+    }
+
+    // After commit: clearing the bit for a delete that rolls back would hide a live customer
+    public void remove(Long id) {
+        if (!enabled || id == null) return;
+
+        TransactionUtil.afterCommit(() -> ids.remove(id));
+    }
+}
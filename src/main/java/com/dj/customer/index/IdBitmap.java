@@ -0,0 +1,97 @@
+package com.dj.customer.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe bitmap over positive long ids, split into segments of 65536
+ * bits (8 KB) that are allocated on first use. Ids from the customer
+ * sequence are dense, so ten million ids take about 1.25 MB. Reads and bit
+ * updates are lock-free; only allocating a segment takes the lock.
+ */
+public class IdBitmap {
+
+    private static final int SEGMENT_SHIFT = 16;
+    private static final int WORDS_PER_SEGMENT = (1 << SEGMENT_SHIFT) / Long.SIZE;
+    // 2^20 segments cover ids below 2^36
+    static final long MAX_ID = (1L << (SEGMENT_SHIFT + 20)) - 1;
+
+    private volatile AtomicReferenceArray<AtomicLongArray> segments = new AtomicReferenceArray<>(16);
+
+    public boolean contains(long id) {
+        if (id <= 0 || id > MAX_ID) return false;
+
+        AtomicReferenceArray<AtomicLongArray> current = segments;
+        int index = (int) (id >>> SEGMENT_SHIFT);
+        if (index >= current.length()) return false;
+
+        AtomicLongArray segment = current.get(index);
+        return segment != null && (segment.get(word(id)) & bit(id)) != 0;
+    }
+
+    /**
+     * Sets the bit for id.
+     *
+     * @throws IllegalArgumentException if id is not in 1..{@value #MAX_ID}
+     */
+    public void add(long id) {
+        if (id <= 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Id out of bitmap range: " + id);
+        }
+        long bit = bit(id);
+        segment(id).getAndAccumulate(word(id), bit, (word, mask) -> word | mask);
+    }
+
+    public void remove(long id) {
+        if (id <= 0 || id > MAX_ID) return;
+
+        AtomicReferenceArray<AtomicLongArray> current = segments;
+        int index = (int) (id >>> SEGMENT_SHIFT);
+        if (index >= current.length()) return;
+
+        AtomicLongArray segment = current.get(index);
+        if (segment != null) {
+            long bit = bit(id);
+            segment.getAndAccumulate(word(id), bit, (word, mask) -> word & ~mask);
+        }
+    }
+
+    private AtomicLongArray segment(long id) {
+        int index = (int) (id >>> SEGMENT_SHIFT);
+        AtomicReferenceArray<AtomicLongArray> current = segments;
+        if (index < current.length()) {
+            AtomicLongArray segment = current.get(index);
+            if (segment != null) return segment;
+        }
+        return allocate(index);
+    }
+
+    // Growing and allocating under one lock, so a copy never misses a new segment
+    private synchronized AtomicLongArray allocate(int index) {
+        AtomicReferenceArray<AtomicLongArray> current = segments;
+        if (index >= current.length()) {
+            int length = current.length();
+            while (length <= index) length <<= 1;
+            AtomicReferenceArray<AtomicLongArray> grown = new AtomicReferenceArray<>(length);
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            segments = grown;
+            current = grown;
+        }
+        AtomicLongArray segment = current.get(index);
+        if (segment == null) {
+            segment = new AtomicLongArray(WORDS_PER_SEGMENT);
+            current.set(index, segment);
+        }
+        return segment;
+    }
+
+    private static int word(long id) {
+        return (int) (id >>> 6) & (WORDS_PER_SEGMENT - 1);
+    }
+
+    private static long bit(long id) {
+        return 1L << id;
+    }
+}
@@ -0,0 +1,85 @@
+package com.dj.customer.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes queue depth, drops and back-pressure of every
+ * {@link MeteredAsyncAppender}, on the root logger or on a dedicated one
+ * such as the access log. Appenders are looked up by name on each read, so
+ * the meters survive a logback reconfiguration.
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Logger logger : loggerContext().getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof MeteredAsyncAppender appender) {
+                    names.add(appender.getName());
+                }
+            }
+        }
+        names.forEach(name -> bind(registry, name));
+    }
+
+    private void bind(MeterRegistry registry, String name) {
+        Gauge.builder("logback.async.queue.size", this, metric(name, MeteredAsyncAppender::getNumberOfElementsInQueue))
+                .description("Events waiting to be written")
+                .tag("appender", name)
+                .register(registry);
+        Gauge.builder("logback.async.queue.remaining", this, metric(name, MeteredAsyncAppender::getRemainingCapacity))
+                .description("Free slots before INFO and below are discarded or callers block")
+                .tag("appender", name)
+                .register(registry);
+        FunctionCounter.builder("logback.async.events", this, metric(name, MeteredAsyncAppender::getAppendedCount))
+                .description("Events handed to the async appender")
+                .tag("appender", name)
+                .register(registry);
+        FunctionCounter.builder("logback.async.discarded", this, metric(name, MeteredAsyncAppender::getDiscardedCount))
+                .description("DEBUG/INFO events dropped because the queue was nearly full")
+                .tag("appender", name)
+                .register(registry);
+        FunctionCounter.builder("logback.async.blocked", this, metric(name, MeteredAsyncAppender::getBlockedCount))
+                .description("WARN/ERROR events that found the queue full and waited")
+                .tag("appender", name)
+                .register(registry);
+    }
+
+    private static ToDoubleFunction<AsyncLoggingMetrics> metric(
+            String name, ToDoubleFunction<MeteredAsyncAppender> value) {
+        return metrics -> find(name) instanceof MeteredAsyncAppender appender
+                ? value.applyAsDouble(appender)
+                : Double.NaN;
+    }
+
+    private static Appender<ILoggingEvent> find(String name) {
+        for (Logger logger : loggerContext().getLoggerList()) {
+            Appender<ILoggingEvent> appender = logger.getAppender(name);
+            if (appender != null) {
+                return appender;
+            }
+        }
+        return null;
+    }
+
+    private static LoggerContext loggerContext() {
+        return (LoggerContext) LoggerFactory.getILoggerFactory();
+    }
+}
@@ -0,0 +1,26 @@
+package com.dj.customer.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * Log argument that is built only when the message is formatted, i.e. after the
+ * level check and the turbo filters (sampling) have let the event through.
+ * Use it for arguments that cost more than a field read, such as JSON renderings.
+ */
+public final class LazyArg {
+
+    private final Supplier<?> supplier;
+
+    private LazyArg(Supplier<?> supplier) {
+        this.supplier = supplier;
+    }
+
+    public static LazyArg lazy(Supplier<?> supplier) {
+        return new LazyArg(supplier);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(supplier.get());
+    }
+}
@@ -0,0 +1,52 @@
+package com.dj.customer.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback {@link AsyncAppender} that counts what it drops and how often a
+ * caller found the queue full, so the cost of the async pipeline is visible
+ * in metrics (see {@link AsyncLoggingMetrics}).
+ *
+ * <p>With the default policy DEBUG/INFO events are discarded once less than
+ * {@code discardingThreshold} slots remain; WARN/ERROR still wait for space.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        appended.increment();
+        if (getRemainingCapacity() == 0 && !super.isDiscardable(event)) {
+            blocked.increment();
+        }
+        super.append(event);
+    }
+
+    // Only consulted once the queue is below the discarding threshold
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    public long getAppendedCount() {
+        return appended.sum();
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+}
@@ -0,0 +1,59 @@
+package com.dj.customer.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every {@code rate} events logged at or below {@code level} by
+ * {@code loggerName} and its children. Runs before the message is formatted,
+ * so dropped events cost a counter increment. Events above the level are never
+ * sampled, and isXxxEnabled() checks are left alone so guards still work.
+ * Declare one filter per logger that needs sampling.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final AtomicLong counter = new AtomicLong();
+
+    private String loggerName = Logger.ROOT_LOGGER_NAME;
+    private Level level = Level.INFO;
+    private int rate = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (rate <= 1 || format == null || level.toInt() > this.level.toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        // Events the logger would reject anyway must not use up the sample
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel()) || !covers(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean covers(String name) {
+        if (Logger.ROOT_LOGGER_NAME.equals(loggerName)) {
+            return true;
+        }
+        return name.startsWith(loggerName)
+                && (name.length() == loggerName.length() || name.charAt(loggerName.length()) == '.');
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+}
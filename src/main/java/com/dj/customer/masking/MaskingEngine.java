@@ -0,0 +1,35 @@
+package com.dj.customer.masking;
+
+import com.dj.customer.annotation.Mask;
+import com.dj.customer.util.MaskingUtil;
+
+/**
+ * {@link Mask} strategies and the per-class {@link MaskingPlan} of masked
+ * fields. Values are masked while they are serialized, by
+ * {@link MaskingModule}. Each class is scanned once; the plan is kept in a
+ * {@link ClassValue} so it is released together with the class.
+ */
+public final class MaskingEngine {
+
+    private static final ClassValue<MaskingPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected MaskingPlan computeValue(Class<?> type) {
+            return MaskingPlan.compile(type);
+        }
+    };
+
+    private MaskingEngine() {
+    }
+
+    public static MaskingPlan planFor(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    public static String mask(Mask.MaskType type, String value) {
+        return switch (type) {
+            case EMAIL -> MaskingUtil.maskEmail(value);
+            case MOBILE -> MaskingUtil.maskMobile(value);
+            default -> MaskingUtil.maskGeneric(value);
+        };
+    }
+}
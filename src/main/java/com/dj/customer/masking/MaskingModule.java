@@ -0,0 +1,108 @@
+package com.dj.customer.masking;
+
+import com.dj.customer.annotation.Mask;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson module that masks {@link Mask}-annotated String properties while
+ * they are written. Masking happens per property during serialization, so
+ * nested and paged content is covered and the source objects are never
+ * modified. Spring Boot registers every {@code Module} bean with the
+ * application {@code ObjectMapper}. With a registry, one in
+ * customer.masking.timer-sample-rate masked values is timed as
+ * customer.masking, tagged by mask type, so the clock is not read for every
+ * field of every response.
+ */
+@Component
+public class MaskingModule extends SimpleModule {
+
+    public MaskingModule() {
+        super("MaskingModule");
+        setSerializerModifier(new MaskingSerializerModifier(null, 1));
+    }
+
+    // Untimed where there is no registry, e.g. in web slice tests
+    @Autowired
+    public MaskingModule(ObjectProvider<MeterRegistry> registry,
+                         @Value("${customer.masking.timer-sample-rate:64}") int sampleRate) {
+        super("MaskingModule");
+        setSerializerModifier(new MaskingSerializerModifier(registry.getIfAvailable(), sampleRate));
+    }
+
+    static class MaskingSerializerModifier extends BeanSerializerModifier {
+
+        private final Map<Mask.MaskType, MaskingSerializer> serializers = new EnumMap<>(Mask.MaskType.class);
+
+        MaskingSerializerModifier(MeterRegistry registry, int sampleRate) {
+            for (Mask.MaskType type : Mask.MaskType.values()) {
+                Timer timer = registry == null ? null : Timer.builder("customer.masking")
+                        .description("Time to mask one @Mask property during serialization, sampled")
+                        .tag("type", type.name())
+                        .register(registry);
+                serializers.put(type, new MaskingSerializer(type, timer, sampleRate));
+            }
+        }
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config,
+                                                         BeanDescription beanDesc,
+                                                         List<BeanPropertyWriter> beanProperties) {
+            for (BeanPropertyWriter writer : beanProperties) {
+                Mask mask = writer.getAnnotation(Mask.class);
+                if (mask != null && writer.getType().hasRawClass(String.class) && !writer.hasSerializer()) {
+                    writer.assignSerializer(serializers.get(mask.type()));
+                }
+            }
+            return beanProperties;
+        }
+    }
+
+    static class MaskingSerializer extends StdSerializer<Object> {
+
+        private final Mask.MaskType type;
+        private final Timer timer;
+        private final int sampleRate;
+
+        MaskingSerializer(Mask.MaskType type, Timer timer, int sampleRate) {
+            super(Object.class);
+            this.type = type;
+            this.timer = timer;
+            this.sampleRate = Math.max(1, sampleRate);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            // Per-thread random, so sampling shares no counter between request threads
+            if (timer == null || ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+                gen.writeString(MaskingEngine.mask(type, (String) value));
+                return;
+            }
+
+            // Only the masking is timed, not the write
+            long start = System.nanoTime();
+            String masked = MaskingEngine.mask(type, (String) value);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            gen.writeString(masked);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.dj.customer.masking;
+
+import com.dj.customer.annotation.Mask;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mask type of each {@link Mask}-annotated String field of one class,
+ * including inherited ones, by field name, resolved once per class.
+ * Callers only ask whether a class has masked fields and which type a
+ * named field uses.
+ */
+@Slf4j
+public final class MaskingPlan {
+
+    static final MaskingPlan EMPTY = new MaskingPlan(Map.of());
+
+    private final Map<String, Mask.MaskType> types;
+
+    private MaskingPlan(Map<String, Mask.MaskType> types) {
+        this.types = types;
+    }
+
+    public boolean isEmpty() {
+        return types.isEmpty();
+    }
+
+    public int size() {
+        return types.size();
+    }
+
+    // Mask type of the named field, or null when it is not masked
+    public Mask.MaskType typeOf(String name) {
+        return types.get(name);
+    }
+
+    static MaskingPlan compile(Class<?> type) {
+        Map<String, Mask.MaskType> types = new HashMap<>();
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                Mask mask = field.getAnnotation(Mask.class);
+                if (mask == null) continue;
+
+                if (field.getType() != String.class || Modifier.isStatic(field.getModifiers())) {
+                    log.warn("Ignoring @Mask on {}.{}: only String instance fields can be masked",
+                            current.getSimpleName(), field.getName());
+                    continue;
+                }
+
+                // A subclass field hides a superclass field of the same name
+                types.putIfAbsent(field.getName(), mask.type());
+            }
+        }
+
+        return types.isEmpty() ? EMPTY : new MaskingPlan(Map.copyOf(types));
+    }
+}
@@ -1,8 +1,41 @@
 package com.dj.customer.repository;
 
 import com.dj.customer.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Function;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer> {
+
+    // Search pages and totals may be served from the query cache (hibernate.cache.use_query_cache)
+
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    <S extends Customer, R> R findBy(Specification<Customer> spec,
+                                     Function<? super SpecificationFluentQuery<S>, R> queryFunction);
+
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    long count(Specification<Customer> spec);
+
+    /**
+     * Single DELETE statement; returns the number of rows removed (0 or 1).
+     * Hibernate clears every cache region mapped to a bulk statement's query
+     * space, so this one names a space no entity maps to. Callers evict the
+     * row's own entry and the query cache.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM customer WHERE id = :id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "customer_row_delete"))
+    int deleteCustomerById(@Param("id") Long id);
 }
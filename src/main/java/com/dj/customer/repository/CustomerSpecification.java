@@ -1,10 +1,41 @@
 package com.dj.customer.repository;
 
+import com.dj.customer.dto.MatchMode;
 import com.dj.customer.entity.Customer;
+import com.dj.customer.util.NormalizationUtil;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public class CustomerSpecification {
 
+    private static final char LIKE_ESCAPE = '\\';
+
+    // All search filters combined; null filters are ignored
+    public static Specification<Customer> matching(String name, String email, String mobile) {
+        return matching(name, email, mobile, MatchMode.CONTAINS);
+    }
+
+    public static Specification<Customer> matching(String name, String email, String mobile, MatchMode match) {
+        return switch (match) {
+            case CONTAINS -> Specification.allOf(
+                    hasName(name),
+                    hasEmail(email),
+                    hasMobile(mobile)
+            );
+            case EXACT -> Specification.allOf(
+                    nameEquals(name),
+                    emailEquals(email),
+                    mobileEquals(mobile)
+            );
+            case PREFIX -> Specification.allOf(
+                    nameStartsWith(name),
+                    emailStartsWith(email),
+                    mobileStartsWith(mobile)
+            );
+        };
+    }
+
     public static Specification<Customer> hasName(String name) {
         return (root, query, cb) ->
                 name == null ? null :
@@ -25,4 +56,66 @@ public class CustomerSpecification {
                         cb.like(root.get("mobile"),
                                 "%" + mobile + "%");
     }
+
+    // Restrict to the given ids; an empty collection matches nothing
+    public static Specification<Customer> idIn(Collection<Long> ids) {
+        return (root, query, cb) ->
+                ids.isEmpty() ? cb.disjunction() :
+                        root.get("id").in(ids);
+    }
+
+    // Exact and prefix matches on the normalized, indexed columns
+
+    public static Specification<Customer> nameEquals(String name) {
+        return equalTo("fullNameNormalized", NormalizationUtil.lowerCase(name));
+    }
+
+    // Same key as the stored column; a blank email is stored as null, which no filter value equals
+    public static Specification<Customer> emailEquals(String email) {
+        String key = NormalizationUtil.emailKey(email);
+        if (email != null && key == null) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        return equalTo("emailNormalized", key);
+    }
+
+    public static Specification<Customer> mobileEquals(String mobile) {
+        return equalTo("mobileDigits", NormalizationUtil.digitsOnly(mobile));
+    }
+
+    public static Specification<Customer> nameStartsWith(String name) {
+        return startsWith("fullNameNormalized", NormalizationUtil.lowerCase(name));
+    }
+
+    public static Specification<Customer> emailStartsWith(String email) {
+        return startsWith("emailNormalized", NormalizationUtil.lowerCase(email));
+    }
+
+    public static Specification<Customer> mobileStartsWith(String mobile) {
+        return startsWith("mobileDigits", NormalizationUtil.digitsOnly(mobile));
+    }
+
+    private static Specification<Customer> equalTo(String attribute, String value) {
+        return (root, query, cb) ->
+                value == null ? null :
+                        cb.equal(root.get(attribute), value);
+    }
+
+    private static Specification<Customer> startsWith(String attribute, String prefix) {
+        return (root, query, cb) ->
+                prefix == null ? null :
+                        cb.like(root.get(attribute), escapeLike(prefix) + "%", LIKE_ESCAPE);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
 }
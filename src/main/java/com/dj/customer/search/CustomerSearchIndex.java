@@ -0,0 +1,177 @@
+package com.dj.customer.search;
+
+import com.dj.customer.entity.Customer;
+import com.dj.customer.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram index over fullName, email and mobile, used to turn the
+ * substring searches of CustomerSpecification into an id lookup. The
+ * service keeps it in step with every write, applied once the write
+ * commits; it is loaded from the table once the application is ready.
+ * Candidates are always re-checked by the database query, so the index
+ * only has to avoid missing matches.
+ */
+@Slf4j
+@Component
+public class CustomerSearchIndex {
+
+    private static final int LOAD_FETCH_SIZE = 1000;
+
+    private final TrigramIndex names = new TrigramIndex();
+    private final TrigramIndex emails = new TrigramIndex();
+    private final TrigramIndex mobiles = new TrigramIndex();
+    private final Map<Long, IndexedValues> documents = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int maxCandidates;
+    private volatile boolean ready;
+
+    public CustomerSearchIndex(JdbcTemplate jdbcTemplate,
+                               @Value("${customer.search-index.enabled:true}") boolean enabled,
+                               @Value("${customer.search-index.max-candidates:1000}") int maxCandidates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) return;
+
+        long start = System.nanoTime();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id, full_name, email, mobile FROM customer ORDER BY id");
+            statement.setFetchSize(LOAD_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            // In id order, so postings are filled by appending
+            IndexedValues values = IndexedValues.of(rs.getString(2), rs.getString(3), rs.getString(4));
+            // Rows written since the load started are already indexed with newer values
+            documents.computeIfAbsent(rs.getLong(1), id -> {
+                add(id, values);
+                return values;
+            });
+        });
+        ready = true;
+
+        log.info("Search index loaded customers={} in {} ms",
+                documents.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // After commit: values of a write that rolls back would hide the customer from its searches
+    public void index(Customer customer) {
+        if (!enabled || customer.getId() == null) return;
+
+        Long customerId = customer.getId();
+        IndexedValues values = IndexedValues.of(customer.getFullName(), customer.getEmail(), customer.getMobile());
+        TransactionUtil.afterCommit(() -> documents.compute(customerId, (id, previous) -> {
+            if (previous != null) {
+                remove(id, previous);
+            }
+            add(id, values);
+            return values;
+        }));
+    }
+
+    public void remove(Long id) {
+        if (!enabled) return;
+
+        TransactionUtil.afterCommit(() -> documents.computeIfPresent(id, (key, previous) -> {
+            remove(key, previous);
+            return null;
+        }));
+    }
+
+    /**
+     * Ids that may match all given filters, or empty when the index cannot
+     * narrow the search (not loaded, no filter of at least three plain
+     * characters, or more than max-candidates ids). LIKE wildcards and the
+     * escape character also disable it.
+     */
+    public Optional<Set<Long>> candidates(String name, String email, String mobile) {
+        if (!ready) return Optional.empty();
+
+        String[] queries = {lower(name), lower(email), mobile};
+        TrigramIndex[] indexes = {names, emails, mobiles};
+        int filters = 0;
+        for (String query : queries) {
+            if (indexable(query)) filters++;
+        }
+        if (filters == 0) return Optional.empty();
+
+        // A single filter's ids are the result, so its posting can be rejected before it is copied
+        int limit = filters == 1 ? maxCandidates : Integer.MAX_VALUE;
+        long[] result = null;
+        for (int i = 0; i < queries.length; i++) {
+            if (!indexable(queries[i])) continue;
+
+            long[] ids = indexes[i].candidates(queries[i], limit);
+            if (ids == null) return Optional.empty();
+            result = result == null ? ids : TrigramIndex.intersect(result, result.length, ids, ids.length);
+            if (result.length == 0) break;
+        }
+        if (result.length > maxCandidates) {
+            return Optional.empty();
+        }
+
+        Set<Long> ids = HashSet.newHashSet(result.length);
+        for (long id : result) {
+            ids.add(id);
+        }
+        return Optional.of(ids);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private static boolean indexable(String query) {
+        if (query == null || query.length() < TrigramIndex.GRAM) return false;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') return false;
+        }
+        return true;
+    }
+
+    private void add(long id, IndexedValues values) {
+        names.add(id, values.name());
+        emails.add(id, values.email());
+        mobiles.add(id, values.mobile());
+    }
+
+    private void remove(long id, IndexedValues values) {
+        names.remove(id, values.name());
+        emails.remove(id, values.email());
+        mobiles.remove(id, values.mobile());
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Values as they are matched: name and email lower-cased, mobile verbatim
+    private record IndexedValues(String name, String email, String mobile) {
+
+        static IndexedValues of(String name, String email, String mobile) {
+            return new IndexedValues(lower(name), lower(email), mobile);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.dj.customer.search;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Posting lists of ids per trigram of one indexed field. A value contains
+ * a query string only if it contains every trigram of that query, so the
+ * intersection of the query's posting lists is a superset of the matches.
+ * Callers are expected to lower-case values and queries themselves when
+ * the field is searched case-insensitively.
+ */
+public class TrigramIndex {
+
+    public static final int GRAM = 3;
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, Posting> postings = new ConcurrentHashMap<>();
+
+    public void add(long id, String value) {
+        if (value == null) return;
+        // Inside compute, so a concurrent remove cannot drop the posting the id goes into
+        for (long trigram : trigrams(value)) {
+            postings.compute(trigram, (key, posting) -> posting == null ? Posting.of(id) : posting.with(id));
+        }
+    }
+
+    public void remove(long id, String value) {
+        if (value == null) return;
+        for (long trigram : trigrams(value)) {
+            postings.computeIfPresent(trigram, (key, posting) -> posting.without(id));
+        }
+    }
+
+    // Sorted ids whose value may contain the query; the query must be at least GRAM chars long
+    public long[] candidates(String query) {
+        return candidates(query, Integer.MAX_VALUE);
+    }
+
+    /**
+     * As {@link #candidates(String)}, or null when more than limit ids may
+     * match. Intersecting starts from the shortest posting, which is
+     * checked against the limit before any ids are copied.
+     */
+    public long[] candidates(String query, int limit) {
+        Set<Long> trigrams = trigrams(query);
+        if (trigrams.isEmpty()) {
+            throw new IllegalArgumentException("Query shorter than " + GRAM + " characters");
+        }
+
+        Posting[] lists = new Posting[trigrams.size()];
+        int n = 0;
+        for (long trigram : trigrams) {
+            Posting posting = postings.get(trigram);
+            if (posting == null) return EMPTY;
+            lists[n++] = posting;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        if (lists.length == 1) {
+            return lists[0].size > limit ? null : Arrays.copyOf(lists[0].ids, lists[0].size);
+        }
+        long[] result = intersect(lists[0].ids, lists[0].size, lists[1].ids, lists[1].size);
+        for (int i = 2; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, result.length, lists[i].ids, lists[i].size);
+        }
+        return result.length > limit ? null : result;
+    }
+
+    public int trigramCount() {
+        return postings.size();
+    }
+
+    // Both sorted; the result is sized exactly
+    static long[] intersect(long[] a, int aSize, long[] b, int bSize) {
+        long[] out = new long[Math.min(aSize, bSize)];
+        int i = 0, j = 0, n = 0;
+        while (i < aSize && j < bSize) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static Set<Long> trigrams(String value) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            trigrams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Sorted ids of one trigram, 8 bytes each. Published postings are never
+     * changed below their size: a new id past the end is written into spare
+     * capacity, which no published posting reads, and anything else copies.
+     */
+    private static final class Posting {
+
+        private final long[] ids;
+        private final int size;
+
+        private Posting(long[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        static Posting of(long id) {
+            long[] ids = new long[4];
+            ids[0] = id;
+            return new Posting(ids, 1);
+        }
+
+        // Ids mostly arrive in ascending order, so this is usually an append
+        Posting with(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) return this;
+
+            at = -at - 1;
+            if (at == size && size < ids.length) {
+                ids[size] = id;
+                return new Posting(ids, size + 1);
+            }
+            long[] grown = new long[size < ids.length ? ids.length : size + (size >> 1) + 1];
+            System.arraycopy(ids, 0, grown, 0, at);
+            grown[at] = id;
+            System.arraycopy(ids, at, grown, at + 1, size - at);
+            return new Posting(grown, size + 1);
+        }
+
+        // Null once empty, which removes the trigram
+        Posting without(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) return this;
+            if (size == 1) return null;
+
+            long[] shrunk = new long[size - 1];
+            System.arraycopy(ids, 0, shrunk, 0, at);
+            System.arraycopy(ids, at + 1, shrunk, at, size - at - 1);
+            return new Posting(shrunk, size - 1);
+        }
+    }
+}
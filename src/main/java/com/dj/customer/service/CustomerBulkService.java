@@ -0,0 +1,251 @@
+package com.dj.customer.service;
+
+import com.dj.customer.dto.BulkCreateResponse;
+import com.dj.customer.dto.BulkCreatedRange;
+import com.dj.customer.dto.BulkItemResult;
+import com.dj.customer.dto.CustomerRequest;
+import com.dj.customer.entity.Customer;
+import com.dj.customer.exception.DuplicateCustomerException;
+import com.dj.customer.index.CustomerContactIndex;
+import com.dj.customer.index.CustomerIdIndex;
+import com.dj.customer.search.CustomerSearchIndex;
+import com.dj.customer.util.NormalizationUtil;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams a JSON array or NDJSON body of {@link CustomerRequest} items,
+ * validates each one and inserts the valid ones in fixed-size chunks.
+ * Every chunk is one transaction; with the pooled id sequence Hibernate
+ * sends its inserts as JDBC batches. Created ids are kept as ranges of
+ * consecutive items and ids, and failures up to max-reported-failures, so
+ * memory grows with the number of failures rather than with the upload.
+ */
+@Timed("customer.service")
+@Slf4j
+@Service
+public class CustomerBulkService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final CustomerSearchIndex searchIndex;
+    private final CustomerIdIndex idIndex;
+    private final CustomerContactIndex contactIndex;
+    private final ObjectReader reader;
+    private final int chunkSize;
+    private final int maxReportedFailures;
+    private final int maxReportedRanges;
+
+    public CustomerBulkService(EntityManager entityManager,
+                               TransactionTemplate transactionTemplate,
+                               Validator validator,
+                               CustomerSearchIndex searchIndex,
+                               CustomerIdIndex idIndex,
+                               CustomerContactIndex contactIndex,
+                               ObjectMapper objectMapper,
+                               @Value("${customer.bulk.chunk-size:500}") int chunkSize,
+                               @Value("${customer.bulk.max-reported-failures:1000}") int maxReportedFailures,
+                               @Value("${customer.bulk.max-reported-ranges:10000}") int maxReportedRanges) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.searchIndex = searchIndex;
+        this.idIndex = idIndex;
+        this.contactIndex = contactIndex;
+        this.reader = objectMapper.readerFor(CustomerRequest.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedFailures = maxReportedFailures;
+        this.maxReportedRanges = maxReportedRanges;
+    }
+
+    public BulkCreateResponse create(InputStream body) throws IOException {
+        log.debug("Service: Bulk creating customers, chunkSize={}", chunkSize);
+
+        Outcome outcome = new Outcome(maxReportedFailures, maxReportedRanges);
+        List<PendingItem> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        // A top-level array is unwrapped; otherwise root values are read one after another (NDJSON)
+        try (MappingIterator<CustomerRequest> items = reader.readValues(body)) {
+            while (hasNext(items, index, outcome)) {
+                int current = index++;
+                CustomerRequest request;
+                try {
+                    request = items.nextValue();
+                } catch (JsonParseException e) {
+                    outcome.fail(failure(current, BulkItemResult.Status.INVALID, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonMappingException e) {
+                    outcome.fail(failure(current, BulkItemResult.Status.INVALID, e.getOriginalMessage()));
+                    continue;
+                }
+
+                List<String> errors = validate(request);
+                if (!errors.isEmpty()) {
+                    outcome.fail(BulkItemResult.builder()
+                            .index(current)
+                            .status(BulkItemResult.Status.INVALID)
+                            .errors(errors)
+                            .build());
+                    continue;
+                }
+
+                // Duplicates of existing customers, or of earlier items, are rejected individually
+                CustomerContactIndex.Reservation reservation;
+                try {
+                    reservation = contactIndex.reserve(NormalizationUtil.emailKey(request.getEmail()),
+                            NormalizationUtil.mobileKey(request.getMobile()), false);
+                } catch (DuplicateCustomerException e) {
+                    outcome.fail(BulkItemResult.builder()
+                            .index(current)
+                            .status(BulkItemResult.Status.DUPLICATE)
+                            .id(e.getExistingId())
+                            .errors(List.of(e.getField() + ": already registered"))
+                            .build());
+                    continue;
+                }
+
+                chunk.add(new PendingItem(current, request, reservation));
+                if (chunk.size() == chunkSize) {
+                    insert(chunk, outcome);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // The body broke off; items read but not inserted give their email and mobile back
+            chunk.forEach(item -> item.reservation().release());
+            throw e;
+        }
+
+        if (!chunk.isEmpty()) {
+            insert(chunk, outcome);
+        }
+
+        // A failed chunk reports its items after later ones that were rejected before it was inserted
+        outcome.failures.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+
+        log.info("Service: Bulk create finished received={} created={} failed={}", index, outcome.created, outcome.failed);
+        return BulkCreateResponse.builder()
+                .received(index)
+                .created(outcome.created)
+                .failed(outcome.failed)
+                .createdRanges(outcome.ranges)
+                .failures(outcome.failures)
+                .build();
+    }
+
+    // A syntax error between items ends the stream; it is reported against the next index
+    private boolean hasNext(MappingIterator<CustomerRequest> items, int index, Outcome outcome) {
+        try {
+            return items.hasNextValue();
+        } catch (IOException e) {
+            outcome.fail(failure(index, BulkItemResult.Status.INVALID, "Malformed JSON: " + e.getMessage()));
+            return false;
+        }
+    }
+
+    private List<String> validate(CustomerRequest request) {
+        Set<ConstraintViolation<CustomerRequest>> violations = validator.validate(request);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<CustomerRequest> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    private void insert(List<PendingItem> chunk, Outcome outcome) {
+        try {
+            List<Customer> saved = transactionTemplate.execute(status -> {
+                List<Customer> customers = new ArrayList<>(chunk.size());
+                for (PendingItem item : chunk) {
+                    Customer customer = new Customer();
+                    customer.setFullName(item.request().getFullName());
+                    customer.setEmail(item.request().getEmail());
+                    customer.setMobile(item.request().getMobile());
+                    entityManager.persist(customer);
+                    customers.add(customer);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return customers;
+            });
+
+            for (int i = 0; i < saved.size(); i++) {
+                Customer customer = saved.get(i);
+                chunk.get(i).reservation().complete(customer.getId());
+                idIndex.add(customer.getId());
+                searchIndex.index(customer);
+                outcome.created(chunk.get(i).index(), customer.getId());
+            }
+        } catch (RuntimeException e) {
+            log.error("Service: Bulk chunk of {} customers failed", chunk.size(), e);
+            for (PendingItem item : chunk) {
+                item.reservation().release();
+                outcome.fail(failure(item.index(), BulkItemResult.Status.FAILED, "Chunk insert failed"));
+            }
+        }
+    }
+
+    private static BulkItemResult failure(int index, BulkItemResult.Status status, String error) {
+        return BulkItemResult.builder()
+                .index(index)
+                .status(status)
+                .errors(List.of(error))
+                .build();
+    }
+
+    // Counts of one upload, with the created ranges and failures reported back up to their limits
+    private static final class Outcome {
+
+        private final int maxReportedFailures;
+        private final int maxReportedRanges;
+        private final List<BulkCreatedRange> ranges = new ArrayList<>();
+        private final List<BulkItemResult> failures = new ArrayList<>();
+        private int created;
+        private int failed;
+
+        private Outcome(int maxReportedFailures, int maxReportedRanges) {
+            this.maxReportedFailures = maxReportedFailures;
+            this.maxReportedRanges = maxReportedRanges;
+        }
+
+        // Items arrive in index order, so each one either extends the last range or starts one
+        void created(int index, long id) {
+            created++;
+            BulkCreatedRange last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && last.getIndex() + last.getCount() == index && last.getId() + last.getCount() == id) {
+                last.setCount(last.getCount() + 1);
+            } else if (ranges.size() < maxReportedRanges) {
+                ranges.add(new BulkCreatedRange(index, id, 1));
+            }
+        }
+
+        void fail(BulkItemResult result) {
+            failed++;
+            if (failures.size() < maxReportedFailures) {
+                failures.add(result);
+            }
+        }
+    }
+
+    private record PendingItem(int index, CustomerRequest request, CustomerContactIndex.Reservation reservation) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.dj.customer.service;
+
+import com.dj.customer.annotation.Mask;
+import com.dj.customer.dto.CustomerResponse;
+import com.dj.customer.dto.ExportFormat;
+import com.dj.customer.dto.MatchMode;
+import com.dj.customer.entity.Customer;
+import com.dj.customer.repository.CustomerSpecification;
+import com.dj.customer.masking.MaskingEngine;
+import com.dj.customer.masking.MaskingPlan;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.Predicate;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaRoot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams every customer matching the search filters straight from a
+ * forward-only result set. A stateless session keeps no persistence
+ * context, so memory stays flat whatever the table size. Values are
+ * masked per row exactly as in the JSON API.
+ */
+@Timed("customer.service")
+@Slf4j
+@Service
+public class CustomerExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final int fetchSize;
+
+    public CustomerExportService(EntityManagerFactory entityManagerFactory,
+                                 ObjectMapper objectMapper,
+                                 @Value("${customer.export.fetch-size:1000}") int fetchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(CustomerResponse.class);
+        this.fetchSize = fetchSize;
+    }
+
+    public long export(String name, String email, String mobile, MatchMode match, ExportFormat format, OutputStream out)
+            throws IOException {
+        log.debug("Service: Exporting customers as {}", format);
+
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             Stream<Customer> customers = stream(session, name, email, mobile, match)) {
+
+            long rows = switch (format) {
+                case NDJSON -> writeNdjson(customers.iterator(), out);
+                case CSV -> writeCsv(customers.iterator(), out);
+            };
+
+            log.info("Service: Exported customers rows={}", rows);
+            return rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Stream<Customer> stream(StatelessSession session, String name, String email, String mobile, MatchMode match) {
+        HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+        JpaCriteriaQuery<Customer> query = cb.createQuery(Customer.class);
+        JpaRoot<Customer> root = query.from(Customer.class);
+
+        Predicate predicate = CustomerSpecification.matching(name, email, mobile, match).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return session.createQuery(query)
+                .setFetchSize(fetchSize)
+                .getResultStream();
+    }
+
+    private long writeNdjson(Iterator<Customer> customers, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (customers.hasNext()) {
+                rowWriter.writeValue(generator, toResponse(customers.next()));
+                generator.writeRaw('\n');
+                if (++rows % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Columns are masked by the @Mask of the CustomerResponse field of the same name, as in JSON
+    private long writeCsv(Iterator<Customer> customers, OutputStream out) throws IOException {
+        MaskingPlan masks = MaskingEngine.planFor(CustomerResponse.class);
+        Mask.MaskType fullNameMask = masks.typeOf("fullName");
+        Mask.MaskType emailMask = masks.typeOf("email");
+        Mask.MaskType mobileMask = masks.typeOf("mobile");
+
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,fullName,email,mobile\n");
+        while (customers.hasNext()) {
+            Customer customer = customers.next();
+            writer.write(String.valueOf(customer.getId()));
+            writer.write(',');
+            writeCsvField(writer, mask(fullNameMask, customer.getFullName()));
+            writer.write(',');
+            writeCsvField(writer, mask(emailMask, customer.getEmail()));
+            writer.write(',');
+            writeCsvField(writer, mask(mobileMask, customer.getMobile()));
+            writer.write('\n');
+            if (++rows % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static String mask(Mask.MaskType type, String value) {
+        return type == null || value == null ? value : MaskingEngine.mask(type, value);
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static CustomerResponse toResponse(Customer customer) {
+        return CustomerResponse.builder()
+                .id(customer.getId())
+                .fullName(customer.getFullName())
+                .email(customer.getEmail())
+                .mobile(customer.getMobile())
+                .build();
+    }
+}
@@ -1,42 +1,92 @@
 package com.dj.customer.service;
 
+import com.dj.customer.dto.CustomerCursor;
 import com.dj.customer.dto.CustomerPatchRequest;
 import com.dj.customer.dto.CustomerRequest;
 import com.dj.customer.dto.CustomerResponse;
 import com.dj.customer.dto.CustomerUpdateRequest;
+import com.dj.customer.dto.CustomerWindowResponse;
+import com.dj.customer.dto.MatchMode;
 import com.dj.customer.entity.Customer;
+import com.dj.customer.exception.DuplicateCustomerException;
+import com.dj.customer.exception.PreconditionFailedException;
 import com.dj.customer.exception.ResourceNotFoundException;
+import com.dj.customer.index.CustomerContactIndex;
+import com.dj.customer.index.CustomerIdIndex;
 import com.dj.customer.repository.CustomerRepository;
 
 import com.dj.customer.repository.CustomerSpecification;
+import com.dj.customer.search.CustomerSearchIndex;
+import com.dj.customer.util.NormalizationUtil;
+import com.dj.customer.util.TransactionUtil;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+// Every public method is timed as customer.service{class,method}
+@Timed("customer.service")
 @Slf4j
 @Service
 public class CustomerService {
 
-    private final CustomerRepository repository;
+    // Read-through cache of responses by id, written through on every change
+    static final String CUSTOMERS_CACHE = "customers";
 
-    public CustomerService(CustomerRepository repository) {
+    private final CustomerRepository repository;
+    private final SearchCountCache countCache;
+    private final CustomerSearchIndex searchIndex;
+    private final CustomerIdIndex idIndex;
+    private final CustomerContactIndex contactIndex;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CustomerService(CustomerRepository repository,
+                           SearchCountCache countCache,
+                           CustomerSearchIndex searchIndex,
+                           CustomerIdIndex idIndex,
+                           CustomerContactIndex contactIndex,
+                           EntityManagerFactory entityManagerFactory) {
         this.repository = repository;
+        this.countCache = countCache;
+        this.searchIndex = searchIndex;
+        this.idIndex = idIndex;
+        this.contactIndex = contactIndex;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
+    @Cacheable(cacheNames = CUSTOMERS_CACHE, key = "#id")
     public CustomerResponse getById(Long id) {
         log.debug("Service: Fetching customer by id={}", id);
+        requireKnownId(id);
 
         Customer customer = repository.findById(id).orElseThrow(() -> {
-            log.error("Service: Customer not found id={}", id);
-            return new ResourceNotFoundException("Customer not found id=" + id);
+            log.debug("Service: Customer not found id={}", id);
+            return new ResourceNotFoundException("Customer", id);
         });
 
-        log.info("Service: Customer found id={}", id);
+        log.debug("Service: Customer found id={}", id);
         return mapToResponse(customer);
     }
 
+    @CachePut(cacheNames = CUSTOMERS_CACHE, key = "#result.id")
     public CustomerResponse create(CustomerRequest request) {
         log.debug("Service: Creating customer: {}", request.getFullName());
 
@@ -45,51 +95,91 @@ public class CustomerService {
         customer.setEmail(request.getEmail());
         customer.setMobile(request.getMobile());
 
-        Customer saved = repository.save(customer);
+        // Claims email and mobile first, so a retried registration gets a 409 without an insert
+        String email = NormalizationUtil.emailKey(request.getEmail());
+        String mobile = NormalizationUtil.mobileKey(request.getMobile());
+        CustomerContactIndex.Reservation reservation = contactIndex.reserve(email, mobile, true);
+        Customer saved = null;
+        try {
+            saved = repository.save(customer);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOr(e, null, email, mobile);
+        } finally {
+            // Never left pending, whatever the insert threw
+            if (saved != null) {
+                reservation.complete(saved.getId());
+            } else {
+                reservation.release();
+            }
+        }
+        idIndex.add(saved.getId());
+        searchIndex.index(saved);
 
         log.info("Service: Customer created ID={}", saved.getId());
         return mapToResponse(saved);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CUSTOMERS_CACHE, key = "#id")
     public void delete(Long id) {
-        log.debug("Service: Checking if customer exists for delete id={}", id);
+        log.debug("Service: Deleting customer id={}", id);
+        requireKnownId(id);
 
-        if (!repository.existsById(id)) {
-            log.error("Service: Cannot delete. Customer not found id={}", id);
-            throw new ResourceNotFoundException("Customer not found id=" + id);
+        if (repository.deleteCustomerById(id) == 0) {
+            log.debug("Service: Cannot delete. Customer not found id={}", id);
+            throw new ResourceNotFoundException("Customer", id);
         }
 
-        repository.deleteById(id);
+        // The DELETE bypasses the entity, so its second-level cache entry and cached searches are dropped here
+        Cache cache = entityManagerFactory.getCache();
+        TransactionUtil.afterCommit(() -> {
+            cache.evict(Customer.class, id);
+            cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+        });
+
+        idIndex.remove(id);
+        searchIndex.remove(id);
+        contactIndex.remove(id);
 
         log.info("Service: Customer deleted id={}", id);
     }
 
-    public CustomerResponse update(Long id, CustomerUpdateRequest request) {
+    @Transactional
+    @CachePut(cacheNames = CUSTOMERS_CACHE, key = "#id")
+    public CustomerResponse update(Long id, CustomerUpdateRequest request, List<Long> expectedVersions) {
         log.debug("Service: Updating customer id={}", id);
+        requireKnownId(id);
 
         Customer customer = repository.findById(id).orElseThrow(() -> {
-            log.error("Service: Cannot update. Customer not found id={}", id);
-            return new ResourceNotFoundException("Customer not found id=" + id);
+            log.debug("Service: Cannot update. Customer not found id={}", id);
+            return new ResourceNotFoundException("Customer", id);
         });
+        checkVersion(customer, expectedVersions);
 
         customer.setFullName(request.getFullName());
         customer.setEmail(request.getEmail());
         customer.setMobile(request.getMobile());
 
-        Customer updated = repository.save(customer);
+        // Managed entity: dirty checking writes the changed columns; flushed here for the new version
+        flushContactChange(customer, expectedVersions);
+        searchIndex.index(customer);
 
         log.info("Service: Customer updated successfully id={}", id);
-        return mapToResponse(updated);
+        return mapToResponse(customer);
     }
 
-    public CustomerResponse patch(Long id, CustomerPatchRequest request) {
+    @Transactional
+    @CachePut(cacheNames = CUSTOMERS_CACHE, key = "#id")
+    public CustomerResponse patch(Long id, CustomerPatchRequest request, List<Long> expectedVersions) {
         log.debug("Service: Partially updating customer id={}", id);
+        requireKnownId(id);
 
         Customer customer = repository.findById(id)
                 .orElseThrow(() -> {
-                    log.error("Service: Cannot patch. Customer not found id={}", id);
-                    return new ResourceNotFoundException("Customer not found id=" + id);
+                    log.debug("Service: Cannot patch. Customer not found id={}", id);
+                    return new ResourceNotFoundException("Customer", id);
                 });
+        checkVersion(customer, expectedVersions);
 
         // Partial update logic
         if (request.getFullName() != null && !request.getFullName().isBlank()) {
@@ -104,42 +194,176 @@ public class CustomerService {
             customer.setMobile(request.getMobile());
         }
 
-        Customer updated = repository.save(customer);
+        flushContactChange(customer, expectedVersions);
+        searchIndex.index(customer);
 
         log.info("Service: Customer patched successfully id={}", id);
-        return mapToResponse(updated);
+        return mapToResponse(customer);
+    }
+
+    // Email and mobile may have changed: another customer holding either is a 409, not a 500
+    // A conditional write that loses the race to a concurrent one at flush fails its If-Match: 412
+    private void flushContactChange(Customer customer, List<Long> expectedVersions) {
+        String email = NormalizationUtil.emailKey(customer.getEmail());
+        String mobile = NormalizationUtil.mobileKey(customer.getMobile());
+        contactIndex.checkAvailable(customer.getId(), email, mobile);
+        try {
+            repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOr(e, customer.getId(), email, mobile);
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersions == null) throw e;
+
+            log.debug("Service: Version changed during update id={}", customer.getId());
+            throw new PreconditionFailedException("Customer id=" + customer.getId() + " has changed");
+        }
+        contactIndex.update(customer.getId(), email, mobile);
+    }
+
+    private RuntimeException duplicateOr(DataIntegrityViolationException e, Long id, String email, String mobile) {
+        DuplicateCustomerException duplicate = contactIndex.duplicateOf(id, email, mobile);
+        if (duplicate == null) return e;
+
+        log.debug("Service: Duplicate {} caught by constraint, existing id={}", duplicate.getField(), duplicate.getExistingId());
+        return duplicate;
+    }
+
+    // Ids that were never created or are deleted are rejected without a query
+    private void requireKnownId(Long id) {
+        if (!idIndex.mightExist(id)) {
+            log.debug("Service: Unknown customer id={}", id);
+            throw new ResourceNotFoundException("Customer", id);
+        }
+    }
+
+    // If-Match: the write only applies to a version the client named; null skips the check
+    private void checkVersion(Customer customer, List<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(customer.getVersion())) {
+            log.debug("Service: Version mismatch id={} expected={} actual={}",
+                    customer.getId(), expectedVersions, customer.getVersion());
+            throw new PreconditionFailedException("Customer id=" + customer.getId() + " has changed");
+        }
     }
 
-    //Search + Pagination
+    //Search + Pagination, total from the short-lived count cache
     public Page<CustomerResponse> search(
             String name,
             String email,
             String mobile,
+            MatchMode match,
             Pageable pageable) {
 
-        log.debug("Service: Searching customers with filters");
+        log.debug("Service: Searching customers with filters match={}", match);
 
-        Specification<Customer> spec = Specification.allOf(
-                CustomerSpecification.hasName(name),
-                CustomerSpecification.hasEmail(email),
-                CustomerSpecification.hasMobile(mobile)
-        );
+        Specification<Customer> spec = searchSpecification(name, email, mobile, match);
 
-        Page<Customer> page = repository.findAll(spec, pageable);
+        if (pageable.isUnpaged()) {
+            return repository.findAll(spec, pageable).map(this::mapToResponse);
+        }
+
+        Window<Customer> window = fetchPage(spec, pageable);
+        long total = countCache.count(name, email, mobile, match, () -> repository.count(spec));
 
-        log.info("Service: Customers found = {}", page.getTotalElements());
+        log.debug("Service: Customers found = {}", total);
 
-        return page.map(this::mapToResponse);
+        return new PageImpl<>(window.getContent(), pageable, total).map(this::mapToResponse);
     }
 
-    private CustomerResponse mapToResponse(Customer customer) {
-        log.debug("Service: Mapping Customer entity to CustomerResponse for id={}", customer.getId());
+    //Search + Pagination without any COUNT query
+    public Slice<CustomerResponse> searchSlice(
+            String name,
+            String email,
+            String mobile,
+            MatchMode match,
+            Pageable pageable) {
+
+        log.debug("Service: Searching customers with filters match={}, no total", match);
+
+        Specification<Customer> spec = searchSpecification(name, email, mobile, match);
+
+        if (pageable.isUnpaged()) {
+            return repository.findAll(spec, pageable).map(this::mapToResponse);
+        }
+
+        Window<Customer> window = fetchPage(spec, pageable);
+
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext()).map(this::mapToResponse);
+    }
+
+    // Substring filters are narrowed to the search index candidates when it can resolve them;
+    // exact and prefix filters go straight to the indexed normalized columns
+    private Specification<Customer> searchSpecification(String name, String email, String mobile, MatchMode match) {
+        Specification<Customer> spec = CustomerSpecification.matching(name, email, mobile, match);
+
+        if (match != MatchMode.CONTAINS) {
+            return spec;
+        }
+
+        return searchIndex.candidates(name, email, mobile)
+                .map(ids -> spec.and(CustomerSpecification.idIn(ids)))
+                .orElse(spec);
+    }
 
+    // One page of rows plus a look-ahead row for hasNext; offset positions are exclusive
+    private Window<Customer> fetchPage(Specification<Customer> spec, Pageable pageable) {
+        ScrollPosition position = pageable.getOffset() == 0
+                ? ScrollPosition.offset()
+                : ScrollPosition.offset(pageable.getOffset() - 1);
+
+        return repository.findBy(spec, query -> query
+                .sortBy(pageable.getSort())
+                .limit(pageable.getPageSize())
+                .scroll(position));
+    }
+
+    //Search + keyset (seek) pagination
+    public CustomerWindowResponse scroll(
+            String name,
+            String email,
+            String mobile,
+            MatchMode match,
+            CustomerCursor cursor,
+            int size,
+            boolean withTotal) {
+
+        log.debug("Service: Scrolling customers seek={} start={}", cursor.seek(), cursor.isStart());
+
+        Specification<Customer> spec = searchSpecification(name, email, mobile, match);
+
+        Sort sort = cursor.seek() == CustomerCursor.SeekKey.FULL_NAME
+                ? Sort.by("fullName", "id")
+                : Sort.by("id");
+        ScrollPosition position = cursor.isStart()
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(cursor.keys());
+
+        Window<Customer> window = repository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(size)
+                .scroll(position));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Customer last = window.getContent().get(window.size() - 1);
+            nextCursor = new CustomerCursor(cursor.seek(), last.getId(), last.getFullName()).encode();
+        }
+
+        return CustomerWindowResponse.builder()
+                .content(window.getContent().stream().map(this::mapToResponse).toList())
+                .size(window.size())
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor)
+                .totalElements(withTotal ? countCache.count(name, email, mobile, match, () -> repository.count(spec)) : null)
+                .build();
+    }
+
+    private CustomerResponse mapToResponse(Customer customer) {
         return CustomerResponse.builder()
                 .id(customer.getId())
                 .fullName(customer.getFullName())
                 .email(customer.getEmail())
                 .mobile(customer.getMobile())
+                .version(customer.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.dj.customer.service;
+
+import com.dj.customer.dto.MatchMode;
+import com.dj.customer.util.NormalizationUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of search totals per filter combination, so paging
+ * through the same search runs the COUNT query once per TTL instead of
+ * once per page. Totals may be stale by up to the TTL.
+ */
+@Slf4j
+@Component
+public class SearchCountCache {
+
+    private final Map<FilterKey, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public SearchCountCache(@Value("${customer.search.count-ttl:30s}") Duration ttl,
+                            @Value("${customer.search.count-max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public long count(String name, String email, String mobile, MatchMode match, LongSupplier counter) {
+        FilterKey key = FilterKey.of(name, email, mobile, match);
+        long now = System.nanoTime();
+
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.createdAt() < ttlNanos) {
+            return entry.count();
+        }
+
+        long count = counter.getAsLong();
+        if (entries.size() >= maxEntries) {
+            evictExpired(now);
+        }
+        entries.put(key, new Entry(count, now));
+        return count;
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> now - entry.createdAt() >= ttlNanos);
+        if (entries.size() >= maxEntries) {
+            log.debug("Search count cache full after eviction, clearing {} entries", entries.size());
+            entries.clear();
+        }
+    }
+
+    // Name and email filters are case-insensitive, so they share an entry across cases;
+    // exact and prefix mobile filters compare digits only
+    private record FilterKey(String name, String email, String mobile, MatchMode match) {
+
+        static FilterKey of(String name, String email, String mobile, MatchMode match) {
+            return new FilterKey(
+                    NormalizationUtil.lowerCase(name),
+                    NormalizationUtil.lowerCase(email),
+                    match == MatchMode.CONTAINS ? mobile : NormalizationUtil.digitsOnly(mobile),
+                    match);
+        }
+    }
+
+    private record Entry(long count, long createdAt) {
+    }
+}
@@ -2,26 +2,64 @@ package com.dj.customer.util;
 
 public class MaskingUtil {
 
+    private static final char MASK = '*';
+
     // Mask email, show only first char & domain
     public static String maskEmail(String email) {
-        if (email == null || !email.contains("@")) return email;
-        String[] parts = email.split("@");
-        String name = parts[0];
-        if (name.length() <= 1) {
-            return "*@" + parts[1];
+        if (email == null) return email;
+        int at = email.indexOf('@');
+        if (at < 0) return email;
+
+        // Domain ends at the next '@', matching the former split("@")[1]
+        int domainEnd = email.indexOf('@', at + 1);
+        if (domainEnd < 0) domainEnd = email.length();
+        int domainLength = domainEnd - at - 1;
+
+        if (at <= 1) {
+            char[] masked = new char[2 + domainLength];
+            masked[0] = MASK;
+            masked[1] = '@';
+            email.getChars(at + 1, domainEnd, masked, 2);
+            return new String(masked);
         }
-        return name.charAt(0) + "****@" + parts[1];
+
+        char[] masked = new char[6 + domainLength];
+        masked[0] = email.charAt(0);
+        masked[1] = MASK;
+        masked[2] = MASK;
+        masked[3] = MASK;
+        masked[4] = MASK;
+        masked[5] = '@';
+        email.getChars(at + 1, domainEnd, masked, 6);
+        return new String(masked);
     }
 
     // Mask mobile, keep first 2 and last 2 digits
     public static String maskMobile(String mobile) {
         if (mobile == null || mobile.length() < 4) return mobile;
-        return mobile.substring(0, 2) + "******" + mobile.substring(mobile.length() - 2);
+        int length = mobile.length();
+
+        char[] masked = new char[10];
+        masked[0] = mobile.charAt(0);
+        masked[1] = mobile.charAt(1);
+        for (int i = 2; i < 8; i++) {
+            masked[i] = MASK;
+        }
+        masked[8] = mobile.charAt(length - 2);
+        masked[9] = mobile.charAt(length - 1);
+        return new String(masked);
     }
 
     // Generic mask: keep only first and last characters
     public static String maskGeneric(String value) {
         if (value == null || value.length() < 3) return "***";
-        return value.charAt(0) + "***" + value.charAt(value.length() - 1);
+
+        char[] masked = new char[5];
+        masked[0] = value.charAt(0);
+        masked[1] = MASK;
+        masked[2] = MASK;
+        masked[3] = MASK;
+        masked[4] = value.charAt(value.length() - 1);
+        return new String(masked);
     }
 }
@@ -0,0 +1,45 @@
+package com.dj.customer.util;
+
+import java.util.Locale;
+
+public class NormalizationUtil {
+
+    // Lower-case with the root locale, as used for name and email lookups
+    public static String lowerCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Keep only the digits of a mobile number, e.g. "+91 98765-43210" -> "919876543210"
+    public static String digitsOnly(String value) {
+        if (value == null) return null;
+
+        char[] digits = new char[value.length()];
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits[length++] = c;
+            }
+        }
+        return length == value.length() ? value : new String(digits, 0, length);
+    }
+
+    // Unique lookup keys: an email or mobile that normalizes to nothing is treated as absent
+    public static String emailKey(String email) {
+        String key = lowerCase(email);
+        return key == null || key.isBlank() ? null : key;
+    }
+
+    public static String mobileKey(String mobile) {
+        String key = digitsOnly(mobile);
+        return key == null || key.isEmpty() ? null : key;
+    }
+
+    // Methods are client-chosen, so metric keys use the standard ones and "OTHER" for anything else
+    public static String httpMethod(String method) {
+        return switch (method == null ? "" : method) {
+            case "GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS" -> method;
+            default -> "OTHER";
+        };
+    }
+}
@@ -1,24 +1,32 @@
-INSERT INTO CUSTOMER (full_name, email, mobile) VALUES
-('Bret Lee', 'bret.lee@gmail.com', '9876543210'),
-('Brian Lara', 'brian.lara@abc.com', '9123456780'),
-('Sachin Tendulkar', 'sachin.tendulkar@xyz.com', '9998887777'),
-('Rahul Dravid', 'rahul.dravid@xyz.com', '9998887776'),
+INSERT INTO CUSTOMER (id, full_name, email, mobile) VALUES
+(1, 'Bret Lee', 'bret.lee@gmail.com', '9876543210'),
+(2, 'Brian Lara', 'brian.lara@abc.com', '9123456780'),
+(3, 'Sachin Tendulkar', 'sachin.tendulkar@xyz.com', '9998887777'),
+(4, 'Rahul Dravid', 'rahul.dravid@xyz.com', '9998887776'),
 
-('Virat Kohli', 'virat.kohli@cricket.com', '9000000001'),
-('Rohit Sharma', 'rohit.sharma@cricket.com', '9000000002'),
-('MS Dhoni', 'ms.dhoni@cricket.com', '9000000003'),
-('Yuvraj Singh', 'yuvraj.singh@cricket.com', '9000000004'),
-('Sourav Ganguly', 'sourav.ganguly@cricket.com', '9000000005'),
-('Anil Kumble', 'anil.kumble@cricket.com', '9000000006'),
+(5, 'Virat Kohli', 'virat.kohli@cricket.com', '9000000001'),
+(6, 'Rohit Sharma', 'rohit.sharma@cricket.com', '9000000002'),
+(7, 'MS Dhoni', 'ms.dhoni@cricket.com', '9000000003'),
+(8, 'Yuvraj Singh', 'yuvraj.singh@cricket.com', '9000000004'),
+(9, 'Sourav Ganguly', 'sourav.ganguly@cricket.com', '9000000005'),
+(10, 'Anil Kumble', 'anil.kumble@cricket.com', '9000000006'),
 
-('Kapil Dev', 'kapil.dev@cricket.com', '9000000007'),
-('Sunil Gavaskar', 'sunil.gavaskar@cricket.com', '9000000008'),
-('VVS Laxman', 'vvs.laxman@cricket.com', '9000000009'),
-('Zaheer Khan', 'zaheer.khan@cricket.com', '9000000010'),
-('Harbhajan Singh', 'harbhajan.singh@cricket.com', '9000000011'),
+(11, 'Kapil Dev', 'kapil.dev@cricket.com', '9000000007'),
+(12, 'Sunil Gavaskar', 'sunil.gavaskar@cricket.com', '9000000008'),
+(13, 'VVS Laxman', 'vvs.laxman@cricket.com', '9000000009'),
+(14, 'Zaheer Khan', 'zaheer.khan@cricket.com', '9000000010'),
+(15, 'Harbhajan Singh', 'harbhajan.singh@cricket.com', '9000000011'),
 
-('Ravindra Jadeja', 'ravindra.jadeja@cricket.com', '9000000012'),
-('Rishabh Pant', 'rishabh.pant@cricket.com', '9000000013'),
-('KL Rahul', 'kl.rahul@cricket.com', '9000000014'),
-('Shubman Gill', 'shubman.gill@cricket.com', '9000000015'),
-('Jasprit Bumrah', 'jasprit.bumrah@cricket.com', '9000000016');
+(16, 'Ravindra Jadeja', 'ravindra.jadeja@cricket.com', '9000000012'),
+(17, 'Rishabh Pant', 'rishabh.pant@cricket.com', '9000000013'),
+(18, 'KL Rahul', 'kl.rahul@cricket.com', '9000000014'),
+(19, 'Shubman Gill', 'shubman.gill@cricket.com', '9000000015'),
+(20, 'Jasprit Bumrah', 'jasprit.bumrah@cricket.com', '9000000016');
+
+UPDATE CUSTOMER SET
+    full_name_normalized = LOWER(full_name),
+    email_normalized = LOWER(email),
+    mobile_digits = REGEXP_REPLACE(mobile, '[^0-9]', '');
+
+-- Ids above are explicit, so move the id sequence past them
+ALTER SEQUENCE customer_seq RESTART WITH 21;
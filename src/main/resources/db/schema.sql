@@ -0,0 +1,26 @@
+-- Schema for the persistent profile, where Hibernate only validates it.
+-- Idempotent, so it runs on every start; must stay in step with the Customer entity.
+
+CREATE SEQUENCE IF NOT EXISTS customer_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS customer (
+    id                   BIGINT NOT NULL,
+    version              BIGINT DEFAULT 0 NOT NULL,
+    full_name            VARCHAR(255),
+    email                VARCHAR(255),
+    mobile               VARCHAR(255),
+    full_name_normalized VARCHAR(255),
+    email_normalized     VARCHAR(255),
+    mobile_digits        VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_customer_full_name_normalized ON customer (full_name_normalized);
+-- FULL_NAME keyset scroll: ORDER BY full_name, id and the seek predicate on both
+CREATE INDEX IF NOT EXISTS idx_customer_full_name_id ON customer (full_name, id);
+-- Fails on a file that already holds duplicates; remove them before upgrading
+ALTER TABLE customer ADD CONSTRAINT IF NOT EXISTS uk_customer_email_normalized UNIQUE (email_normalized);
+ALTER TABLE customer ADD CONSTRAINT IF NOT EXISTS uk_customer_mobile_digits UNIQUE (mobile_digits);
+-- Superseded by the unique constraints' indexes
+DROP INDEX IF EXISTS idx_customer_email_normalized;
+DROP INDEX IF EXISTS idx_customer_mobile_digits;
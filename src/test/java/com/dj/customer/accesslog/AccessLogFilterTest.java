@@ -0,0 +1,99 @@
+package com.dj.customer.accesslog;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private final AccessLogFilter filter = new AccessLogFilter();
+
+    @Test
+    @DisplayName("Requests are grouped by method, route template and status, with body bytes counted")
+    void request_shouldBeRecordedByRouteTemplate() throws Exception {
+        request("/api/v1/customers/{id}", 200, "{\"id\":1}");
+        request("/api/v1/customers/{id}", 200, "{\"id\":22}");
+        request("/api/v1/customers/{id}", 404, "");
+
+        List<RouteLatencies.RouteSnapshot> routes = filter.latencies().snapshot();
+
+        assertEquals(2, routes.size());
+        RouteLatencies.RouteSnapshot ok = routes.get(0);
+        assertEquals("GET", ok.method());
+        assertEquals("/api/v1/customers/{id}", ok.route());
+        assertEquals(200, ok.status());
+        assertEquals(2, ok.count());
+        assertEquals(17, ok.bytes());
+        assertEquals(404, routes.get(1).status());
+        assertEquals(1, routes.get(1).count());
+    }
+
+    @Test
+    @DisplayName("Requests without a handler mapping are grouped as UNMAPPED")
+    void unmappedRequest_shouldUsePlaceholderRoute() throws Exception {
+        request(null, 404, "");
+
+        assertEquals("UNMAPPED", filter.latencies().snapshot().get(0).route());
+    }
+
+    @Test
+    @DisplayName("Non-standard methods share one OTHER key, so clients cannot grow the map")
+    void arbitraryMethod_shouldBeGroupedAsOther() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            request("X-METHOD-" + i, "/api/v1/customers/{id}", 405, "");
+        }
+        request("PATCH", "/api/v1/customers/{id}", 200, "");
+
+        List<RouteLatencies.RouteSnapshot> routes = filter.latencies().snapshot();
+
+        assertEquals(2, routes.size());
+        assertEquals("OTHER", routes.get(0).method());
+        assertEquals(100, routes.get(0).count());
+        assertEquals("PATCH", routes.get(1).method());
+    }
+
+    @Test
+    @DisplayName("Percentiles come from every value recorded since the last reset")
+    void snapshot_shouldReportPercentilesAndReset() {
+        RouteLatencies latencies = new RouteLatencies();
+        for (int i = 1; i <= 1000; i++) {
+            latencies.record("GET", "/api/v1/customers", 200, i * 1000L, 10);
+        }
+        latencies.snapshot();
+        latencies.record("GET", "/api/v1/customers", 200, 5_000_000L, 10);
+
+        RouteLatencies.RouteSnapshot snapshot = latencies.snapshot().get(0);
+
+        assertEquals(1001, snapshot.count());
+        assertEquals(10_010, snapshot.bytes());
+        assertEquals(500.0, snapshot.p50Ms(), 5.0);
+        assertEquals(990.0, snapshot.p99Ms(), 10.0);
+        assertEquals(5000.0, snapshot.maxMs(), 5.0);
+
+        latencies.reset();
+        assertTrue(latencies.snapshot().isEmpty());
+    }
+
+    private void request(String pattern, int status, String body) throws Exception {
+        request("GET", pattern, status, body);
+    }
+
+    private void request(String method, String pattern, int status, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/customers/1");
+        filter.doFilterInternal(request, new MockHttpServletResponse(), (req, res) -> {
+            if (pattern != null) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            }
+            ((HttpServletResponse) res).setStatus(status);
+            res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        });
+    }
+}
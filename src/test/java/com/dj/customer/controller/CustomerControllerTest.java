@@ -1,12 +1,20 @@
 package com.dj.customer.controller;
 
+import com.dj.customer.dto.BulkCreateResponse;
+import com.dj.customer.dto.BulkCreatedRange;
+import com.dj.customer.dto.BulkItemResult;
 import com.dj.customer.dto.CustomerPatchRequest;
 import com.dj.customer.dto.CustomerRequest;
 import com.dj.customer.dto.CustomerResponse;
 import com.dj.customer.dto.CustomerUpdateRequest;
+import com.dj.customer.dto.MatchMode;
+import com.dj.customer.exception.PreconditionFailedException;
 import com.dj.customer.exception.ResourceNotFoundException;
+import com.dj.customer.service.CustomerBulkService;
+import com.dj.customer.service.CustomerExportService;
 import com.dj.customer.service.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,10 +23,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -37,6 +48,12 @@ class CustomerControllerTest {
     @MockitoBean
     private CustomerService service;
 
+    @MockitoBean
+    private CustomerBulkService bulkService;
+
+    @MockitoBean
+    private CustomerExportService exportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -61,6 +78,7 @@ class CustomerControllerTest {
                 eq("Sachin"),
                 isNull(),
                 isNull(),
+                eq(MatchMode.CONTAINS),
                 any(Pageable.class)
         )).thenReturn(page);
         mockMvc.perform(get("/api/v1/customers")
@@ -78,6 +96,64 @@ class CustomerControllerTest {
                         .value(1));
     }
 
+    @Test
+    @DisplayName("GET /customers - paged content is masked on serialization")
+    void getCustomers_shouldMaskPagedContent() throws Exception {
+
+        Page<CustomerResponse> page = new PageImpl<>(
+                List.of(CustomerResponse.builder()
+                        .id(1L)
+                        .fullName("Sachin Tendulkar")
+                        .email("sachin@gmail.com")
+                        .mobile("9876543210")
+                        .build()),
+                PageRequest.of(0, 20),
+                1);
+
+        when(service.search(isNull(), isNull(), isNull(), eq(MatchMode.CONTAINS), any(Pageable.class)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/customers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("s****@gmail.com"))
+                .andExpect(jsonPath("$.content[0].mobile").value("98******10"));
+    }
+
+    @Test
+    @DisplayName("GET /customers?withTotal=false returns a slice without totals")
+    void getCustomers_withoutTotal_returnsSlice() throws Exception {
+
+        when(service.searchSlice(isNull(), isNull(), isNull(), eq(MatchMode.CONTAINS), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(
+                        List.of(CustomerResponse.builder().id(1L).fullName("Sachin Tendulkar").build()),
+                        PageRequest.of(0, 1),
+                        true));
+
+        mockMvc.perform(get("/api/v1/customers").param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].fullName").value("Sachin Tendulkar"))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /customers?match=EXACT passes the match mode to the service")
+    void getCustomers_exactMatch() throws Exception {
+
+        when(service.search(isNull(), eq("sachin@gmail.com"), isNull(), eq(MatchMode.EXACT), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(
+                        List.of(CustomerResponse.builder().id(1L).fullName("Sachin Tendulkar").build()),
+                        PageRequest.of(0, 20),
+                        1));
+
+        mockMvc.perform(get("/api/v1/customers")
+                        .param("email", "sachin@gmail.com")
+                        .param("match", "EXACT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
     // ---------- GET BY ID ----------
 
     @Test
@@ -98,15 +174,59 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.email").value("s****@gmail.com"));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/customers/{id} - ETag from the version, 304 on If-None-Match")
+    void getById_shouldHonourIfNoneMatch() throws Exception {
+
+        when(service.getById(1L)).thenReturn(
+                CustomerResponse.builder()
+                        .id(1L)
+                        .fullName("Sachin Tendulkar")
+                        .version(3L)
+                        .build()
+        );
+
+        mockMvc.perform(get("/api/v1/customers/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/customers/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/v1/customers/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("GET /api/v1/customers/{id} - not found")
     void getById_shouldReturn404() throws Exception {
 
         when(service.getById(1L))
-                .thenThrow(new ResourceNotFoundException("Customer not found"));
+                .thenThrow(new ResourceNotFoundException("Customer", 1L));
 
         mockMvc.perform(get("/api/v1/customers/1"))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.title").value("Not Found"))
+                .andExpect(jsonPath("$.detail").value("Customer not found"))
+                .andExpect(jsonPath("$.instance").value("/api/v1/customers/1"));
+    }
+
+    @Test
+    @DisplayName("Unexpected errors return a generic 500 problem without the exception message")
+    void unexpectedError_shouldNotEchoMessage() throws Exception {
+
+        when(service.getById(1L))
+                .thenThrow(new IllegalStateException("connection refused: db-internal-7:9092"));
+
+        mockMvc.perform(get("/api/v1/customers/1"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.detail").value("Unexpected error"))
+                .andExpect(content().string(Matchers.not(
+                        Matchers.containsString("db-internal"))));
     }
 
     // ---------- CREATE ----------
@@ -138,6 +258,54 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/customers - invalid body returns a 400 problem listing the fields")
+    void create_invalidBody_shouldReturnProblem() throws Exception {
+
+        CustomerRequest request = CustomerRequest.builder()
+                .fullName("Sachin Tendulkar")
+                .email("sachin@gmail.com")
+                .build();
+
+        mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.errors[0]").value(Matchers.startsWith("mobile: ")));
+    }
+
+    // ---------- BULK CREATE ----------
+
+    @Test
+    @DisplayName("POST /api/v1/customers/bulk - NDJSON body returns counts, created ranges and failed items")
+    void createBulk_shouldReturnCountsRangesAndFailures() throws Exception {
+
+        when(bulkService.create(any(InputStream.class)))
+                .thenReturn(BulkCreateResponse.builder()
+                        .received(2)
+                        .created(1)
+                        .failed(1)
+                        .createdRanges(List.of(BulkCreatedRange.builder().index(0).id(101L).count(1).build()))
+                        .failures(List.of(
+                                BulkItemResult.builder().index(1).status(BulkItemResult.Status.INVALID)
+                                        .errors(List.of("mobile: Mobile is required")).build()))
+                        .build());
+
+        mockMvc.perform(post("/api/v1/customers/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"fullName":"A","email":"a@x.com","mobile":"9000000001"}
+                                {"fullName":"B","email":"b@x.com"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.createdRanges[0].id").value(101))
+                .andExpect(jsonPath("$.failures.length()").value(1))
+                .andExpect(jsonPath("$.failures[0].index").value(1))
+                .andExpect(jsonPath("$.failures[0].status").value("INVALID"));
+    }
+
     // ---------- PUT ----------
     @Test
     @DisplayName("PUT /api/v1/customers/{id} - update customer")
@@ -149,13 +317,14 @@ class CustomerControllerTest {
                 .mobile("9999999999")
                 .build();
 
-        when(service.update(eq(1L), any(CustomerUpdateRequest.class)))
+        when(service.update(eq(1L), any(CustomerUpdateRequest.class), isNull()))
                 .thenReturn(
                         CustomerResponse.builder()
                                 .id(1L)
                                 .fullName("Updated Name")
                                 .email("updated@gmail.com")
                                 .mobile("9999999999")
+                                .version(1L)
                                 .build()
                 );
 
@@ -163,9 +332,64 @@ class CustomerControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
                 .andExpect(jsonPath("$.fullName").value("Updated Name"));
     }
 
+    @Test
+    @DisplayName("PUT /api/v1/customers/{id} - If-Match version conflict returns 412")
+    void update_withStaleIfMatch_shouldReturn412() throws Exception {
+
+        CustomerUpdateRequest request = CustomerUpdateRequest.builder()
+                .fullName("Updated Name")
+                .email("updated@gmail.com")
+                .mobile("9999999999")
+                .build();
+
+        when(service.update(eq(1L), any(CustomerUpdateRequest.class), eq(List.of(2L))))
+                .thenThrow(new PreconditionFailedException("Customer id=1 has changed"));
+
+        mockMvc.perform(put("/api/v1/customers/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+
+        // Weak or malformed ETags can never match
+        mockMvc.perform(put("/api/v1/customers/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/customers/{id} - If-Match list matches any of its strong ETags")
+    void update_withIfMatchList_shouldPassEveryStrongVersion() throws Exception {
+
+        CustomerUpdateRequest request = CustomerUpdateRequest.builder()
+                .fullName("Updated Name")
+                .email("updated@gmail.com")
+                .mobile("9999999999")
+                .build();
+
+        CustomerResponse response = CustomerResponse.builder()
+                .id(1L)
+                .fullName("Updated Name")
+                .version(4L)
+                .build();
+
+        when(service.update(eq(1L), any(CustomerUpdateRequest.class), eq(List.of(3L, 2L))))
+                .thenReturn(response);
+
+        mockMvc.perform(put("/api/v1/customers/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"1\", \"3\",\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
     // ---------- PATCH ----------
 
     @Test
@@ -176,7 +400,7 @@ class CustomerControllerTest {
                 .email("patched@gmail.com")
                 .build();
 
-        when(service.patch(eq(1L), any(CustomerPatchRequest.class)))
+        when(service.patch(eq(1L), any(CustomerPatchRequest.class), eq(List.of(4L))))
                 .thenReturn(
                         CustomerResponse.builder()
                                 .id(1L)
@@ -187,6 +411,7 @@ class CustomerControllerTest {
                 );
 
         mockMvc.perform(patch("/api/v1/customers/1")
+                        .header(HttpHeaders.IF_MATCH, "\"4\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
@@ -209,7 +434,7 @@ class CustomerControllerTest {
     @DisplayName("DELETE /api/v1/customers/{id} - not found")
     void delete_shouldReturn404() throws Exception {
 
-        doThrow(new ResourceNotFoundException("Customer not found"))
+        doThrow(new ResourceNotFoundException("Customer", 1L))
                 .when(service).delete(1L);
 
         mockMvc.perform(delete("/api/v1/customers/1"))
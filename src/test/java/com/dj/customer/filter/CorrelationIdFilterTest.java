@@ -0,0 +1,93 @@
+package com.dj.customer.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIdFilterTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter(() -> "generated-id", 64);
+
+    @Test
+    @DisplayName("A valid incoming correlation ID is kept and echoed")
+    void validHeader_shouldBeKept() throws Exception {
+        MockHttpServletResponse response = filter(request("client-id_1.2"));
+
+        assertEquals("client-id_1.2", response.getHeader("X-Correlation-Id"));
+    }
+
+    @Test
+    @DisplayName("Header values with control characters or over the length cap are replaced")
+    void invalidHeader_shouldBeReplaced() throws Exception {
+        assertEquals("generated-id", filter(request("forged\r\nlog line")).getHeader("X-Correlation-Id"));
+        assertEquals("generated-id", filter(request("a".repeat(65))).getHeader("X-Correlation-Id"));
+        assertEquals("generated-id", filter(request("")).getHeader("X-Correlation-Id"));
+    }
+
+    @Test
+    @DisplayName("The traceparent trace ID is used when no correlation ID is sent, and is in the MDC")
+    void traceparent_shouldProvideTraceId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/customers/1");
+        request.addHeader("traceparent", TRACEPARENT);
+        AtomicReference<String> mdcTraceId = new AtomicReference<>();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(request, response, (req, res) -> mdcTraceId.set(MDC.get("traceId")));
+
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", response.getHeader("X-Correlation-Id"));
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", mdcTraceId.get());
+        assertNull(MDC.get("traceId"));
+    }
+
+    @Test
+    @DisplayName("Malformed or all-zero traceparent values are ignored")
+    void traceId_shouldRejectMalformedValues() {
+        assertNull(CorrelationIdFilter.traceId("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(CorrelationIdFilter.traceId("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+        assertNull(CorrelationIdFilter.traceId("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7"));
+        assertNull(CorrelationIdFilter.traceId(null));
+    }
+
+    @Test
+    @DisplayName("Generators: uuid7 is a version 7 UUID, counter ids are unique")
+    void generators_shouldProduceValidIds() {
+        UUID uuid = UUID.fromString(CorrelationIdGenerator.of("uuid7").next());
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+
+        CorrelationIdGenerator counter = CorrelationIdGenerator.of("counter");
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            String id = counter.next();
+            assertTrue(CorrelationIdFilter.isValidId(id, 64));
+            ids.add(id);
+        }
+        assertEquals(5000, ids.size());
+
+        assertThrows(IllegalArgumentException.class, () -> CorrelationIdGenerator.of("sequence"));
+    }
+
+    private static MockHttpServletRequest request(String correlationId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/customers/1");
+        request.addHeader("X-Correlation-Id", correlationId);
+        return request;
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(request, response, new MockFilterChain());
+        return response;
+    }
+}
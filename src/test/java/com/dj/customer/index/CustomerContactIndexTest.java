@@ -0,0 +1,165 @@
+package com.dj.customer.index;
+
+import com.dj.customer.exception.DuplicateCustomerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerContactIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CustomerContactIndex index = new CustomerContactIndex(jdbcTemplate, true);
+
+    @Test
+    @DisplayName("A committed registration is reported with its id while the row still holds the value")
+    void reserve_shouldReportExistingCustomer() {
+        index.reserve("sachin@gmail.com", "9876543210", true).complete(7L);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(7L))).thenReturn(List.of("sachin@gmail.com"));
+
+        DuplicateCustomerException ex = assertThrows(DuplicateCustomerException.class,
+                () -> index.reserve("sachin@gmail.com", "9000000001", true));
+
+        assertEquals("email", ex.getField());
+        assertEquals(7L, ex.getExistingId());
+        // The mobile of the failed attempt was not left claimed
+        assertDoesNotThrow(() -> index.reserve(null, "9000000001", false));
+    }
+
+    @Test
+    @DisplayName("Entries whose row has changed or gone are dropped instead of reported")
+    void reserve_shouldIgnoreStaleEntries() {
+        index.reserve("sachin@gmail.com", "9876543210", true).complete(7L);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(7L))).thenReturn(List.of());
+
+        assertDoesNotThrow(() -> index.reserve("sachin@gmail.com", "9876543210", true));
+    }
+
+    @Test
+    @DisplayName("A released reservation frees its values; a pending one is a duplicate without an id")
+    void reserve_shouldHandlePendingAndReleased() {
+        CustomerContactIndex.Reservation first = index.reserve("sachin@gmail.com", "9876543210", false);
+
+        DuplicateCustomerException ex = assertThrows(DuplicateCustomerException.class,
+                () -> index.reserve(null, "9876543210", false));
+        assertEquals("mobile", ex.getField());
+        assertNull(ex.getExistingId());
+
+        first.release();
+        assertDoesNotThrow(() -> index.reserve("sachin@gmail.com", "9876543210", false));
+    }
+
+    @Test
+    @DisplayName("Concurrent registrations of the same person: exactly one claims it")
+    void reserve_concurrently_shouldAdmitOne() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(() -> {
+                try {
+                    index.reserve("same@gmail.com", "9123456789", false);
+                    return true;
+                } catch (DuplicateCustomerException e) {
+                    return false;
+                }
+            });
+        }
+
+        int claimed = 0;
+        for (Future<Boolean> attempt : executor.invokeAll(attempts)) {
+            if (attempt.get()) claimed++;
+        }
+        executor.shutdown();
+
+        assertEquals(1, claimed);
+    }
+
+    @Test
+    @DisplayName("An update may keep its own values but not take another customer's")
+    void checkAvailable_shouldOnlyRejectOtherCustomers() {
+        index.reserve("sachin@gmail.com", "9876543210", true).complete(7L);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(7L))).thenReturn(List.of("9876543210"));
+
+        assertDoesNotThrow(() -> index.checkAvailable(7L, "sachin@gmail.com", "9876543210"));
+        DuplicateCustomerException ex = assertThrows(DuplicateCustomerException.class,
+                () -> index.checkAvailable(8L, "rahul@gmail.com", "9876543210"));
+        assertEquals(7L, ex.getExistingId());
+    }
+
+    @Test
+    @DisplayName("An update takes over committed values but leaves a pending create's claim")
+    void update_shouldNotReplacePendingReservation() {
+        index.reserve("old@gmail.com", null, true).complete(7L);
+        CustomerContactIndex.Reservation pending = index.reserve(null, "9876543210", false);
+
+        index.update(8L, "old@gmail.com", "9876543210");
+
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(8L))).thenReturn(List.of("old@gmail.com"));
+        assertEquals(8L, assertThrows(DuplicateCustomerException.class,
+                () -> index.reserve("old@gmail.com", null, false)).getExistingId());
+        assertNull(assertThrows(DuplicateCustomerException.class,
+                () -> index.reserve(null, "9876543210", false)).getExistingId());
+
+        pending.release();
+    }
+
+    @Test
+    @DisplayName("An update waits for a pending create: a failed one frees the value, a committed one is reported")
+    void checkAvailable_shouldWaitForPendingCreate() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        CustomerContactIndex.Reservation failing = index.reserve("sachin@gmail.com", null, false);
+        executor.submit(() -> {
+            Thread.sleep(100);
+            failing.release();
+            return null;
+        });
+        assertDoesNotThrow(() -> index.checkAvailable(8L, "sachin@gmail.com", null));
+
+        CustomerContactIndex.Reservation committing = index.reserve("sachin@gmail.com", null, false);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(7L))).thenReturn(List.of("sachin@gmail.com"));
+        executor.submit(() -> {
+            Thread.sleep(100);
+            committing.complete(7L);
+            return null;
+        });
+        assertEquals(7L, assertThrows(DuplicateCustomerException.class,
+                () -> index.checkAvailable(8L, "sachin@gmail.com", null)).getExistingId());
+
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Values given up by an update or delete are dropped once it commits")
+    void updateAndRemove_shouldDropOldValues() {
+        index.reserve("old@gmail.com", "9876543210", true).complete(7L);
+        index.reserve("gone@gmail.com", "9000000009", true).complete(9L);
+
+        index.update(7L, "new@gmail.com", "9876543210");
+        index.remove(9L);
+
+        // Free values are claimed without asking the table whether a stale holder still has them
+        assertDoesNotThrow(() -> index.reserve("old@gmail.com", null, false));
+        assertDoesNotThrow(() -> index.reserve("gone@gmail.com", "9000000009", false));
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), anyLong());
+
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(7L))).thenReturn(List.of("9876543210"));
+        assertEquals(7L, assertThrows(DuplicateCustomerException.class,
+                () -> index.reserve(null, "9876543210", false)).getExistingId());
+    }
+}
@@ -0,0 +1,66 @@
+package com.dj.customer.index;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CustomerIdIndexTest {
+
+    private final CustomerIdIndex index = new CustomerIdIndex(mock(JdbcTemplate.class), true);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Every id may exist until the index is loaded")
+    void notLoaded_shouldPassEverythingThrough() {
+        assertTrue(index.mightExist(42L));
+
+        index.load(); // empty table
+        assertFalse(index.mightExist(42L));
+    }
+
+    @Test
+    @DisplayName("Created ids are known; ids beyond the bitmap range are never rejected")
+    void add_shouldMakeIdKnown() {
+        index.load();
+        index.add(42L);
+
+        assertTrue(index.mightExist(42L));
+        assertFalse(index.mightExist(43L));
+        assertTrue(index.mightExist(IdBitmap.MAX_ID + 1));
+    }
+
+    @Test
+    @DisplayName("A delete inside a transaction clears the id only after commit")
+    void remove_shouldWaitForCommit() {
+        index.load();
+        index.add(42L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.remove(42L);
+        assertTrue(index.mightExist(42L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertFalse(index.mightExist(42L));
+    }
+
+    @Test
+    @DisplayName("A disabled index never rejects")
+    void disabled_shouldPassEverythingThrough() {
+        CustomerIdIndex disabled = new CustomerIdIndex(mock(JdbcTemplate.class), false);
+        disabled.load();
+
+        assertTrue(disabled.mightExist(42L));
+    }
+}
@@ -0,0 +1,67 @@
+package com.dj.customer.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBitmapTest {
+
+    private final IdBitmap bitmap = new IdBitmap();
+
+    @Test
+    @DisplayName("Added ids are found until removed; neighbours are unaffected")
+    void addAndRemove() {
+        bitmap.add(1);
+        bitmap.add(63);
+        bitmap.add(64);
+        bitmap.add(65_536);
+
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(63));
+        assertTrue(bitmap.contains(64));
+        assertTrue(bitmap.contains(65_536));
+        assertFalse(bitmap.contains(2));
+        assertFalse(bitmap.contains(65_535));
+
+        bitmap.remove(63);
+        assertFalse(bitmap.contains(63));
+        assertTrue(bitmap.contains(64));
+    }
+
+    @Test
+    @DisplayName("Ids beyond the allocated segments, zero and negatives are absent")
+    void outOfRange_shouldBeAbsent() {
+        bitmap.add(5);
+
+        assertFalse(bitmap.contains(0));
+        assertFalse(bitmap.contains(-5));
+        assertFalse(bitmap.contains(50_000_000_000L));
+        assertFalse(bitmap.contains(Long.MAX_VALUE));
+        bitmap.remove(50_000_000_000L);
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(IdBitmap.MAX_ID + 1));
+    }
+
+    @Test
+    @DisplayName("Concurrent adds that grow the segment directory are all kept")
+    void concurrentAdds_shouldNotBeLost() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            long offset = t;
+            executor.submit(() -> LongStream.range(0, 500_000).forEach(i -> bitmap.add(i * 4 + offset + 1)));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (long id = 1; id <= 2_000_000; id++) {
+            if (!bitmap.contains(id)) {
+                fail("Missing id " + id);
+            }
+        }
+    }
+}
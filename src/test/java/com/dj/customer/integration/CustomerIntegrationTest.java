@@ -1,16 +1,36 @@
 package com.dj.customer.integration;
 
+import com.dj.customer.accesslog.AccessLogEndpoint;
 import com.dj.customer.dto.CustomerRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -25,6 +45,21 @@ class CustomerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccessLogEndpoint accessLogEndpoint;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     // ---------- FULL FLOW: CREATE → GET ----------
 
     @Test
@@ -58,6 +93,124 @@ class CustomerIntegrationTest {
                 .andExpect(header().exists("X-Correlation-Id"));
     }
 
+    // ---------- CACHE FLOW ----------
+
+    @Test
+    @DisplayName("Integration: Reads are served from the customer cache, writes go through it")
+    void getById_cachedAndWrittenThrough() throws Exception {
+
+        String response = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Cached Customer","email":"cached@gmail.com","mobile":"9300000001"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Long id = objectMapper.readTree(response).get("id").asLong();
+        Cache<Object, Object> cache = ((CaffeineCache) cacheManager.getCache("customers")).getNativeCache();
+        long hits = cache.stats().hitCount();
+
+        mockMvc.perform(get("/api/v1/customers/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullName").value("Cached Customer"));
+        assertEquals(hits + 1, cache.stats().hitCount());
+
+        mockMvc.perform(patch("/api/v1/customers/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Patched Customer"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/customers/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullName").value("Patched Customer"))
+                .andExpect(jsonPath("$.email").value("c****@gmail.com"));
+    }
+
+    // ---------- CONDITIONAL REQUESTS ----------
+
+    @Test
+    @DisplayName("Integration: ETag changes on write, stale If-Match is rejected")
+    void conditionalRequests_endToEnd() throws Exception {
+
+        String response = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Versioned","email":"versioned@gmail.com","mobile":"9300000004"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Long id = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(get("/api/v1/customers/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+
+        mockMvc.perform(patch("/api/v1/customers/{id}", id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Versioned Twice"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(patch("/api/v1/customers/{id}", id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Lost Update"}
+                                """))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/v1/customers/{id}", id).header("If-None-Match", "\"1\""))
+                .andExpect(status().isNotModified());
+    }
+
+    // ---------- WRITE PATH STATEMENTS ----------
+
+    @Test
+    @DisplayName("Integration: Patch of a cached row and delete take one statement each")
+    void patchAndDelete_singleStatementEach() throws Exception {
+
+        String response = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Write Path","email":"write.path@gmail.com","mobile":"9300000002"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Long id = objectMapper.readTree(response).get("id").asLong();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        mockMvc.perform(patch("/api/v1/customers/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"mobile":"9300000003"}
+                                """))
+                .andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(delete("/api/v1/customers/{id}", id))
+                .andExpect(status().isNoContent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(delete("/api/v1/customers/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
     // ---------- DELETE FLOW ----------
 
     @Test
@@ -85,4 +238,430 @@ class CustomerIntegrationTest {
         mockMvc.perform(get("/api/v1/customers/{id}", id))
                 .andExpect(status().isNotFound());
     }
+
+    // ---------- METRICS ----------
+
+    @Test
+    @DisplayName("Integration: Endpoint, service, repository, masking and pool meters are recorded")
+    void hotPathMeters_recorded() throws Exception {
+
+        CustomerRequest request = CustomerRequest.builder()
+                .fullName("Metered Customer")
+                .email("metered@gmail.com")
+                .mobile("9123456789")
+                .build();
+
+        mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        assertTrue(meterRegistry.get("customer.service")
+                .tags("class", "com.dj.customer.service.CustomerService", "method", "create").timer().count() > 0);
+        assertTrue(meterRegistry.get("spring.data.repository.invocations")
+                .tags("repository", "CustomerRepository", "method", "save").timer().count() > 0);
+        assertTrue(meterRegistry.get("customer.masking").tag("type", "EMAIL").timer().count() > 0);
+        assertTrue(meterRegistry.get("http.server.requests")
+                .tags("uri", "/api/v1/customers", "method", "POST").timer().count() > 0);
+        meterRegistry.get("hikaricp.connections.active").gauge();
+        meterRegistry.get("jvm.gc.memory.allocated").counter();
+        meterRegistry.get("logback.async.events").tag("appender", "ASYNC_ACCESS").functionCounter();
+        assertTrue(accessLogEndpoint.routes().stream()
+                .anyMatch(route -> route.route().equals("/api/v1/customers") && route.status() == 201));
+    }
+
+    // ---------- DUPLICATE REGISTRATION FLOW ----------
+
+    @Test
+    @DisplayName("Integration: A repeated registration gets 409 with the existing id")
+    void create_duplicate_returnsConflictWithExistingId() throws Exception {
+
+        String created = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Dup Original","email":"dup.original@gmail.com","mobile":"9700000001"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        // Same email in another case, and the same mobile written differently
+        mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Dup Retry","email":"Dup.Original@Gmail.com","mobile":"9700000009"}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.existingId").value(id));
+        mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Dup Retry","email":"dup.other@gmail.com","mobile":"97000-00001"}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value("A customer with this mobile is already registered"))
+                .andExpect(jsonPath("$.existingId").value(id));
+
+        // Once deleted, the email and mobile can be registered again
+        mockMvc.perform(delete("/api/v1/customers/" + id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Dup Again","email":"dup.original@gmail.com","mobile":"9700000001"}
+                                """))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Integration: Duplicates the index does not know about are caught by the unique constraint")
+    void create_duplicateBehindIndex_caughtByConstraint() throws Exception {
+
+        jdbcTemplate.update("""
+                INSERT INTO customer (id, version, full_name, email, mobile, email_normalized, mobile_digits)
+                VALUES (900001, 0, 'Behind Index', 'behind@gmail.com', '9700000101', 'behind@gmail.com', '9700000101')
+                """);
+
+        mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Behind Retry","email":"behind@gmail.com","mobile":"9700000102"}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.existingId").value(900001));
+    }
+
+    @Test
+    @DisplayName("Integration: Concurrent registrations of the same person create one customer")
+    void create_concurrentDuplicates_createOne() throws Exception {
+
+        String body = """
+                {"fullName":"Racer","email":"racer@gmail.com","mobile":"9700000201"}
+                """;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<MockHttpServletResponse>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(() -> mockMvc.perform(post("/api/v1/customers")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andReturn().getResponse());
+        }
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        for (Future<MockHttpServletResponse> attempt : executor.invokeAll(attempts)) {
+            responses.add(attempt.get());
+        }
+        executor.shutdown();
+
+        List<MockHttpServletResponse> created = responses.stream().filter(r -> r.getStatus() == 201).toList();
+        assertEquals(1, created.size());
+        long id = objectMapper.readTree(created.get(0).getContentAsString()).get("id").asLong();
+        for (MockHttpServletResponse response : responses) {
+            if (response.getStatus() != 201) {
+                assertEquals(409, response.getStatus());
+                assertEquals(id, objectMapper.readTree(response.getContentAsString()).get("existingId").asLong());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Integration: An update cannot take another customer's email")
+    void update_toTakenEmail_returnsConflict() throws Exception {
+
+        mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Owner","email":"owner@gmail.com","mobile":"9700000301"}
+                                """))
+                .andExpect(status().isCreated());
+        String other = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Other","email":"other@gmail.com","mobile":"9700000302"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long otherId = objectMapper.readTree(other).get("id").asLong();
+
+        mockMvc.perform(patch("/api/v1/customers/" + otherId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email":"OWNER@gmail.com"}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.existingId").exists());
+    }
+
+    @Test
+    @DisplayName("Integration: Bulk create reports duplicates per item")
+    void bulkCreate_duplicates() throws Exception {
+
+        mockMvc.perform(post("/api/v1/customers/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"fullName":"Bulk Dup","email":"bulk.dup@gmail.com","mobile":"9700000401"}
+                                {"fullName":"Bulk Dup Again","email":"bulk.dup@gmail.com","mobile":"9700000402"}
+                                {"fullName":"Bulk Fine","email":"bulk.fine@gmail.com","mobile":"9700000403"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.createdRanges[0].index").value(0))
+                .andExpect(jsonPath("$.createdRanges[1].index").value(2))
+                .andExpect(jsonPath("$.failures.length()").value(1))
+                .andExpect(jsonPath("$.failures[0].index").value(1))
+                .andExpect(jsonPath("$.failures[0].status").value("DUPLICATE"));
+
+        mockMvc.perform(post("/api/v1/customers/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"fullName":"Bulk Dup Later","email":"bulk.later@gmail.com","mobile":"9700000401"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failures[0].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.failures[0].id").isNumber());
+    }
+
+    // ---------- BULK CREATE FLOW ----------
+
+    @Test
+    @DisplayName("Integration: Bulk create from a JSON array")
+    void bulkCreate_jsonArray() throws Exception {
+
+        mockMvc.perform(post("/api/v1/customers/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"fullName":"Bulk One","email":"bulk.one@gmail.com","mobile":"9100000001"},
+                                  {"fullName":"","email":"not-an-email","mobile":"9100000002"},
+                                  {"fullName":"Bulk Three","email":"bulk.three@gmail.com","mobile":"9100000003"}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.failures.length()").value(1))
+                .andExpect(jsonPath("$.failures[0].index").value(1))
+                .andExpect(jsonPath("$.failures[0].status").value("INVALID"))
+                .andExpect(jsonPath("$.failures[0].errors.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Integration: Bulk create from NDJSON, created rows are readable")
+    void bulkCreate_ndjson() throws Exception {
+
+        String body = mockMvc.perform(post("/api/v1/customers/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"fullName":"Nd One","email":"nd.one@gmail.com","mobile":"9200000001"}
+                                {"fullName":"Nd Two","email":"nd.two@gmail.com","mobile":{"number":12}}
+                                {"fullName":"Nd Three","email":"nd.three@gmail.com","mobile":"9200000003"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.createdRanges.length()").value(2))
+                .andExpect(jsonPath("$.createdRanges[1].index").value(2))
+                .andExpect(jsonPath("$.createdRanges[1].count").value(1))
+                .andExpect(jsonPath("$.failures[0].index").value(1))
+                .andExpect(jsonPath("$.failures[0].status").value("INVALID"))
+                .andReturn().getResponse().getContentAsString();
+
+        long id = objectMapper.readTree(body).get("createdRanges").get(1).get("id").asLong();
+
+        mockMvc.perform(get("/api/v1/customers/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullName").value("Nd Three"))
+                .andExpect(jsonPath("$.email").value("n****@gmail.com"));
+    }
+
+    // ---------- EXPORT FLOW ----------
+
+    @Test
+    @DisplayName("Integration: Export matching customers as CSV and NDJSON with masking")
+    void exportCustomers_streamsMaskedRows() throws Exception {
+
+        mockMvc.perform(post("/api/v1/customers/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"fullName":"Export, First","email":"export.first@gmail.com","mobile":"9300000011"}
+                                {"fullName":"Export Second","email":"export.second@gmail.com","mobile":"9300000012"}
+                                """))
+                .andExpect(status().isOk());
+
+        MvcResult csv = mockMvc.perform(get("/api/v1/customers/export")
+                        .param("name", "export")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csvBody = mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = csvBody.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,fullName,email,mobile", lines[0]);
+        assertTrue(lines[1].endsWith(",\"Export, First\",e****@gmail.com,93******11"));
+
+        MvcResult ndjson = mockMvc.perform(get("/api/v1/customers/export")
+                        .param("name", "export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] rows = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\n");
+
+        assertEquals(2, rows.length);
+        assertEquals("e****@gmail.com", objectMapper.readTree(rows[1]).get("email").asText());
+        assertEquals("Export Second", objectMapper.readTree(rows[1]).get("fullName").asText());
+    }
+
+    // ---------- KEYSET PAGINATION FLOW ----------
+
+    @Test
+    @DisplayName("Integration: Keyset scroll visits every match once, by name then id")
+    void scrollCustomers_byFullName() throws Exception {
+
+        mockMvc.perform(post("/api/v1/customers/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"fullName":"Scroll C","email":"scroll.c@gmail.com","mobile":"9400000003"}
+                                {"fullName":"Scroll A","email":"scroll.a@gmail.com","mobile":"9400000001"}
+                                {"fullName":"Scroll B","email":"scroll.b@gmail.com","mobile":"9400000002"}
+                                {"fullName":"Scroll A","email":"scroll.a2@gmail.com","mobile":"9400000004"}
+                                {"fullName":"Scroll D","email":"scroll.d@gmail.com","mobile":"9400000005"}
+                                """))
+                .andExpect(status().isOk());
+
+        String first = mockMvc.perform(get("/api/v1/customers")
+                        .param("name", "scroll")
+                        .param("cursor", "")
+                        .param("seek", "FULL_NAME")
+                        .param("size", "2")
+                        .param("withTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].fullName").value("Scroll A"))
+                .andExpect(jsonPath("$.content[1].fullName").value("Scroll A"))
+                .andExpect(jsonPath("$.content[1].email").value("s****@gmail.com"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").value(5))
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(get("/api/v1/customers")
+                        .param("name", "scroll")
+                        .param("cursor", objectMapper.readTree(first).get("nextCursor").asText())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].fullName").value("Scroll B"))
+                .andExpect(jsonPath("$.content[1].fullName").value("Scroll C"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/customers")
+                        .param("name", "scroll")
+                        .param("cursor", objectMapper.readTree(second).get("nextCursor").asText())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].fullName").value("Scroll D"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Integration: Malformed cursor is rejected with 400")
+    void scrollCustomers_invalidCursor() throws Exception {
+
+        mockMvc.perform(get("/api/v1/customers").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid cursor; start again without one"));
+
+        assertTrue(meterRegistry.get("customer.errors")
+                .tag("exception", "InvalidCursorException").counter().count() > 0);
+    }
+
+    // ---------- OFFSET PAGINATION FLOW ----------
+
+    @Test
+    @DisplayName("Integration: Offset pages with and without totals")
+    void searchCustomers_pageAndSlice() throws Exception {
+
+        mockMvc.perform(post("/api/v1/customers/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"fullName":"Paged 1","email":"paged.1@gmail.com","mobile":"9500000001"}
+                                {"fullName":"Paged 2","email":"paged.2@gmail.com","mobile":"9500000002"}
+                                {"fullName":"Paged 3","email":"paged.3@gmail.com","mobile":"9500000003"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/customers")
+                        .param("name", "paged")
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("sort", "fullName,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].fullName").value("Paged 3"))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2));
+
+        mockMvc.perform(get("/api/v1/customers")
+                        .param("name", "paged")
+                        .param("withTotal", "false")
+                        .param("page", "0")
+                        .param("size", "2")
+                        .param("sort", "fullName,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].fullName").value("Paged 1"))
+                .andExpect(jsonPath("$.content[1].fullName").value("Paged 2"))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    // ---------- INDEXED SEARCH FLOW ----------
+
+    @Test
+    @DisplayName("Integration: Substring search follows creates, patches and deletes")
+    void searchCustomers_followsWrites() throws Exception {
+
+        String created = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Trigram Quixote","email":"quixote@gmail.com","mobile":"9600000001"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(get("/api/v1/customers").param("name", "QUIXO"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(id));
+
+        mockMvc.perform(patch("/api/v1/customers/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Trigram Sancho"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/customers").param("name", "quixo").param("withTotal", "false"))
+                .andExpect(jsonPath("$.content.length()").value(0));
+        mockMvc.perform(get("/api/v1/customers").param("name", "sanch").param("withTotal", "false"))
+                .andExpect(jsonPath("$.content[0].id").value(id));
+
+        mockMvc.perform(delete("/api/v1/customers/{id}", id))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/customers").param("name", "sanch").param("withTotal", "false"))
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
 }
@@ -0,0 +1,68 @@
+package com.dj.customer.integration;
+
+import com.dj.customer.dto.CustomerRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+// test last, so the test database is used instead of the perf customerdb URL
+@ActiveProfiles({"perf", "test"})
+class PerfProfileTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    @DisplayName("Perf profile: tuned pool, and /actuator/pool reports wait and hold times per endpoint")
+    void perfProfile_reportsPoolStatsPerEndpoint() throws Exception {
+
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        assertEquals("customer-pool", hikari.getPoolName());
+        assertEquals(16, hikari.getMaximumPoolSize());
+        assertEquals(5000, hikari.getLeakDetectionThreshold());
+
+        CustomerRequest request = CustomerRequest.builder()
+                .fullName("Pool Stats")
+                .email("pool.stats@gmail.com")
+                .mobile("9000000001")
+                .build();
+        assertEquals(HttpStatus.CREATED,
+                restTemplate.postForEntity("/api/v1/customers", request, String.class).getStatusCode());
+
+        String body = restTemplate.getForObject(
+                "http://localhost:" + managementPort + "/actuator/pool", String.class);
+        JsonNode report = objectMapper.readTree(body);
+
+        assertEquals("customer-pool", report.at("/pool/name").asText());
+        assertEquals(16, report.at("/pool/maximum").asInt());
+
+        JsonNode create = report.at("/routes/POST ~1api~1v1~1customers");
+        assertTrue(create.get("acquisitions").asLong() > 0);
+        assertTrue(create.get("releases").asLong() > 0);
+        assertTrue(report.at("/routes/background").isObject());
+    }
+}
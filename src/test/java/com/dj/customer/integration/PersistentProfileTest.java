@@ -0,0 +1,57 @@
+package com.dj.customer.integration;
+
+import com.dj.customer.CustomerRegistrationServiceApplication;
+import com.dj.customer.dto.CustomerRequest;
+import com.dj.customer.dto.CustomerResponse;
+import com.dj.customer.service.CustomerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Starts the application twice on the same H2 file, so it does not use the shared test context
+class PersistentProfileTest {
+
+    @TempDir
+    private Path storageDir;
+
+    @Test
+    @DisplayName("Persistent profile: schema created once, validated, and data kept across a restart")
+    void persistentProfile_keepsDataAcrossRestart() {
+
+        CustomerResponse created;
+        try (ConfigurableApplicationContext first = start()) {
+            created = first.getBean(CustomerService.class).create(CustomerRequest.builder()
+                    .fullName("Persisted Customer")
+                    .email("persisted@gmail.com")
+                    .mobile("9876500000")
+                    .build());
+        }
+
+        try (ConfigurableApplicationContext second = start()) {
+            CustomerService service = second.getBean(CustomerService.class);
+
+            assertEquals("Persisted Customer", service.getById(created.getId()).getFullName());
+
+            CustomerResponse next = service.create(CustomerRequest.builder()
+                    .fullName("After Restart")
+                    .email("after.restart@gmail.com")
+                    .mobile("9876500001")
+                    .build());
+            assertTrue(next.getId() > created.getId());
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CustomerRegistrationServiceApplication.class).run(
+                "--spring.profiles.active=test,persistent",
+                "--customer.storage.dir=" + storageDir,
+                "--server.port=0",
+                "--management.server.port=-1");
+    }
+}
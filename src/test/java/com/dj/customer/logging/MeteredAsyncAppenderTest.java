@@ -0,0 +1,76 @@
+package com.dj.customer.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredAsyncAppenderTest {
+
+    @Test
+    @DisplayName("INFO is dropped and counted near a full queue, WARN is kept")
+    void append_shouldDropInfoButKeepWarn() throws Exception {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        CountDownLatch release = new CountDownLatch(1);
+        GatedAppender sink = new GatedAppender(release);
+        sink.setContext(context);
+        sink.start();
+
+        MeteredAsyncAppender async = new MeteredAsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(4);
+        async.setDiscardingThreshold(2);
+        async.addAppender(sink);
+        async.start();
+
+        Logger logger = context.getLogger("test");
+        logger.addAppender(async);
+        logger.setLevel(Level.DEBUG);
+
+        for (int i = 0; i < 20; i++) {
+            logger.info("info {}", i);
+        }
+        logger.warn("kept");
+
+        release.countDown();
+        async.stop();
+
+        assertEquals(21, async.getAppendedCount());
+        assertTrue(async.getDiscardedCount() > 0);
+        assertEquals(21 - async.getDiscardedCount(), sink.events.size());
+        assertEquals("kept", sink.events.get(sink.events.size() - 1).getFormattedMessage());
+    }
+
+    // Holds the worker thread until released, so the queue fills up
+    private static class GatedAppender extends AppenderBase<ILoggingEvent> {
+
+        final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        GatedAppender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+    }
+}
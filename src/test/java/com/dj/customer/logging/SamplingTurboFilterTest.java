@@ -0,0 +1,72 @@
+package com.dj.customer.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private ListAppender<ILoggingEvent> sink;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setLoggerName("com.dj.customer.access");
+        filter.setLevel(Level.INFO);
+        filter.setRate(10);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        sink = new ListAppender<>();
+        sink.setContext(context);
+        sink.start();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(sink);
+    }
+
+    @Test
+    @DisplayName("Keeps 1 in rate INFO events of the sampled logger, all WARN events")
+    void decide_shouldSampleInfoButKeepWarn() {
+        Logger access = context.getLogger("com.dj.customer.access");
+
+        for (int i = 0; i < 100; i++) {
+            access.info("request {}", i);
+        }
+        access.warn("failed");
+
+        assertEquals(11, sink.list.size());
+        assertEquals("request 0", sink.list.get(0).getFormattedMessage());
+        assertEquals("failed", sink.list.get(10).getFormattedMessage());
+    }
+
+    @Test
+    @DisplayName("Other loggers, disabled levels and isEnabled checks are not sampled")
+    void decide_shouldLeaveOtherEventsAlone() {
+        Logger access = context.getLogger("com.dj.customer.access");
+        Logger other = context.getLogger("com.dj.customer.accessor");
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(access.isInfoEnabled());
+            access.debug("disabled {}", i);
+            other.info("other {}", i);
+        }
+        access.info("first sampled");
+
+        assertEquals(21, sink.list.size());
+        assertEquals("first sampled", sink.list.get(20).getFormattedMessage());
+    }
+}
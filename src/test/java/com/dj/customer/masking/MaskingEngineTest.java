@@ -0,0 +1,83 @@
+package com.dj.customer.masking;
+
+import com.dj.customer.annotation.Mask;
+import com.dj.customer.dto.CustomerRequest;
+import com.dj.customer.dto.CustomerResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaskingEngineTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new MaskingModule());
+
+    @Test
+    @DisplayName("Mask strategies - email keeps the domain, mobile its ends")
+    void mask_shouldApplyStrategyPerType() {
+        assertEquals("s****@gmail.com", MaskingEngine.mask(Mask.MaskType.EMAIL, "sachin@gmail.com"));
+        assertEquals("98******10", MaskingEngine.mask(Mask.MaskType.MOBILE, "9876543210"));
+        assertEquals("p***d", MaskingEngine.mask(Mask.MaskType.GENERIC, "password"));
+    }
+
+    @Test
+    @DisplayName("Serialize request - null fields are left as null")
+    void serialize_shouldSkipNullValues() throws Exception {
+        CustomerRequest request = CustomerRequest.builder()
+                .fullName("Sachin Tendulkar")
+                .mobile("9876543210")
+                .build();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(request));
+
+        assertTrue(json.get("email").isNull());
+        assertEquals("98******10", json.get("mobile").asText());
+        assertEquals("9876543210", request.getMobile());
+    }
+
+    @Test
+    @DisplayName("Plan is compiled once per class and cached")
+    void planFor_shouldCachePerClass() {
+        MaskingPlan first = MaskingEngine.planFor(CustomerResponse.class);
+        MaskingPlan second = MaskingEngine.planFor(CustomerResponse.class);
+
+        assertSame(first, second);
+        assertEquals(2, first.size());
+    }
+
+    @Test
+    @DisplayName("Classes without @Mask fields get an empty plan")
+    void planFor_shouldBeEmptyWithoutMaskFields() {
+        assertTrue(MaskingEngine.planFor(String.class).isEmpty());
+        assertTrue(MaskingEngine.planFor(Long.class).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Inherited @Mask fields are included in the plan")
+    void planFor_shouldIncludeSuperclassFields() {
+        assertEquals(1, MaskingEngine.planFor(Parent.class).size());
+        assertEquals(2, MaskingEngine.planFor(Child.class).size());
+    }
+
+    @Test
+    @DisplayName("Plan gives the mask type of each field by name, null when unmasked")
+    void typeOf_shouldResolveByFieldName() {
+        MaskingPlan plan = MaskingEngine.planFor(CustomerResponse.class);
+
+        assertEquals(Mask.MaskType.EMAIL, plan.typeOf("email"));
+        assertEquals(Mask.MaskType.MOBILE, plan.typeOf("mobile"));
+        assertNull(plan.typeOf("fullName"));
+    }
+
+    static class Parent {
+        @Mask
+        String secret;
+    }
+
+    static class Child extends Parent {
+        @Mask(type = Mask.MaskType.EMAIL)
+        String email;
+    }
+}
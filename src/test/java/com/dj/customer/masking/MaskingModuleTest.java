@@ -0,0 +1,63 @@
+package com.dj.customer.masking;
+
+import com.dj.customer.dto.CustomerResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaskingModuleTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new MaskingModule());
+
+    private static CustomerResponse response() {
+        return CustomerResponse.builder()
+                .id(1L)
+                .fullName("Sachin Tendulkar")
+                .email("sachin@gmail.com")
+                .mobile("9876543210")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Serialize response - masked in JSON, source object untouched")
+    void serialize_shouldMaskWithoutMutating() throws Exception {
+        CustomerResponse response = response();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(response));
+
+        assertEquals("s****@gmail.com", json.get("email").asText());
+        assertEquals("98******10", json.get("mobile").asText());
+        assertEquals("Sachin Tendulkar", json.get("fullName").asText());
+        assertEquals("sachin@gmail.com", response.getEmail());
+        assertEquals("9876543210", response.getMobile());
+    }
+
+    @Test
+    @DisplayName("Serialize nested content - masked at any depth")
+    void serialize_shouldMaskNestedContent() throws Exception {
+        Map<String, Object> body = Map.of("content", List.of(response(), response()));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(body));
+
+        for (JsonNode item : json.get("content")) {
+            assertEquals("s****@gmail.com", item.get("email").asText());
+            assertEquals("98******10", item.get("mobile").asText());
+        }
+    }
+
+    @Test
+    @DisplayName("Serialize null masked field - written as null")
+    void serialize_shouldKeepNulls() throws Exception {
+        CustomerResponse response = CustomerResponse.builder().id(1L).build();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(response));
+
+        assertTrue(json.get("email").isNull());
+    }
+}
@@ -0,0 +1,114 @@
+package com.dj.customer.repository;
+
+import com.dj.customer.dto.MatchMode;
+import com.dj.customer.entity.Customer;
+import com.dj.customer.util.TestDataFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Caches only see committed data, so these tests run outside the test transaction
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CustomerRepositoryCacheTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Find by ID should be served from the second-level cache")
+    void findById_shouldHitSecondLevelCache() {
+        Customer saved = customerRepository.save(TestDataFactory.validCustomer());
+        customerRepository.findById(saved.getId());
+        statistics.clear();
+
+        customerRepository.findById(saved.getId());
+        customerRepository.findById(saved.getId());
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Deleting a customer evicts only its own entry from the second-level cache")
+    void delete_shouldKeepOtherCachedCustomers() {
+        Customer deleted = customerRepository.save(TestDataFactory.validCustomer());
+        Customer kept = customerRepository.save(
+                TestDataFactory.validCustomer("Rahul Dravid", "rahul@gmail.com", "9999999999"));
+        customerRepository.findById(deleted.getId());
+        customerRepository.findById(kept.getId());
+
+        assertEquals(1, customerRepository.deleteCustomerById(deleted.getId()));
+        entityManagerFactory.getCache().evict(Customer.class, deleted.getId());
+        statistics.clear();
+
+        assertTrue(customerRepository.findById(kept.getId()).isPresent());
+        assertTrue(customerRepository.findById(deleted.getId()).isEmpty());
+
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+    }
+
+    @Test
+    @DisplayName("Repeated search should be served from the query cache until the table changes")
+    void search_shouldHitQueryCache() {
+        customerRepository.save(TestDataFactory.validCustomer());
+        Specification<Customer> spec =
+                CustomerSpecification.matching(null, "sachin@gmail.com", null, MatchMode.EXACT);
+
+        assertEquals(1, search(spec));
+        assertEquals(1, search(spec));
+        assertEquals(1, customerRepository.count(spec));
+        assertEquals(1, customerRepository.count(spec));
+
+        assertEquals(2, statistics.getQueryCacheHitCount());
+
+        customerRepository.save(TestDataFactory.validCustomer("Rahul Dravid", "rahul@gmail.com", "9999999999"));
+        assertEquals(1, search(spec));
+
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    private int search(Specification<Customer> spec) {
+        return customerRepository.findBy(spec, query -> query
+                .limit(10)
+                .scroll(ScrollPosition.offset()))
+                .size();
+    }
+}
@@ -1,5 +1,6 @@
 package com.dj.customer.repository;
 
+import com.dj.customer.dto.MatchMode;
 import com.dj.customer.entity.Customer;
 import com.dj.customer.util.TestDataFactory;
 import org.junit.jupiter.api.DisplayName;
@@ -92,4 +93,40 @@ class CustomerRepositoryTest {
         Optional<Customer> result = customerRepository.findById(customer.getId());
         assertFalse(result.isPresent());
     }
+
+    @Test
+    @DisplayName("Save customer should fill the normalized lookup columns")
+    void saveCustomer_shouldNormalizeLookupColumns() {
+        Customer saved = customerRepository.saveAndFlush(
+                TestDataFactory.validCustomer(
+                        "Rahul Dravid",
+                        "Rahul.Dravid@Gmail.com",
+                        "+91 98765-43210"
+                )
+        );
+
+        assertEquals("rahul dravid", saved.getFullNameNormalized());
+        assertEquals("rahul.dravid@gmail.com", saved.getEmailNormalized());
+        assertEquals("919876543210", saved.getMobileDigits());
+    }
+
+    @Test
+    @DisplayName("Exact and prefix matches should use the normalized columns")
+    void findAll_shouldMatchExactAndPrefix() {
+        customerRepository.save(TestDataFactory.validCustomer("Rahul Dravid", "Rahul@Gmail.com", "98765 43210"));
+        customerRepository.save(TestDataFactory.validCustomer("Rahul_Sharma", "rahul.s@gmail.com", "9876500000"));
+
+        assertEquals(1, customerRepository.findAll(
+                CustomerSpecification.matching(null, "rahul@gmail.COM", null, MatchMode.EXACT)).size());
+        assertEquals(1, customerRepository.findAll(
+                CustomerSpecification.matching(null, null, "9876543210", MatchMode.EXACT)).size());
+        // Normalized like the stored key: a blank email never matches
+        assertEquals(0, customerRepository.findAll(
+                CustomerSpecification.matching(null, "  ", null, MatchMode.EXACT)).size());
+        assertEquals(2, customerRepository.findAll(
+                CustomerSpecification.matching("RAHUL", null, "98765", MatchMode.PREFIX)).size());
+        // LIKE wildcards in the input are matched literally
+        assertEquals(1, customerRepository.findAll(
+                CustomerSpecification.matching("rahul_", null, null, MatchMode.PREFIX)).size());
+    }
 }
@@ -0,0 +1,82 @@
+package com.dj.customer.search;
+
+import com.dj.customer.entity.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CustomerSearchIndexTest {
+
+    private CustomerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerSearchIndex(mock(JdbcTemplate.class), true, 2);
+        index.load(); // empty table
+        index.index(customer(1L, "Sachin Tendulkar", "sachin@gmail.com", "9876543210"));
+        index.index(customer(2L, "Rahul Dravid", "rahul@gmail.com", "9876500000"));
+        index.index(customer(3L, "Sachin Nayak", "nayak@xyz.com", "9123456780"));
+    }
+
+    private static Customer customer(Long id, String name, String email, String mobile) {
+        return Customer.builder().id(id).fullName(name).email(email).mobile(mobile).build();
+    }
+
+    @Test
+    @DisplayName("Filters are intersected; name and email are case-insensitive")
+    void candidates_shouldIntersectFilters() {
+        assertEquals(Optional.of(Set.of(1L)), index.candidates("SACHIN", "GMAIL", null));
+        assertEquals(Optional.of(Set.of(2L)), index.candidates(null, null, "765000"));
+        assertEquals(Optional.of(Set.of()), index.candidates("kohli", null, null));
+    }
+
+    @Test
+    @DisplayName("Short, wildcard or too broad filters leave the search to the database")
+    void candidates_shouldFallBack() {
+        assertTrue(index.candidates("sa", null, null).isEmpty());
+        assertTrue(index.candidates("sach%", null, null).isEmpty());
+        assertTrue(index.candidates(null, ".com", null).isEmpty()); // 3 candidates > max 2
+        assertTrue(index.candidates(null, null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Re-indexing replaces old values and remove drops the customer")
+    void index_shouldFollowUpdatesAndDeletes() {
+        index.index(customer(1L, "Virat Kohli", "sachin@gmail.com", "9876543210"));
+        index.remove(2L);
+
+        assertEquals(Optional.of(Set.of(3L)), index.candidates("sachin", null, null));
+        assertEquals(Optional.of(Set.of(1L)), index.candidates("kohli", null, null));
+        assertEquals(Optional.of(Set.of()), index.candidates("dravid", null, null));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Writes inside a transaction reach the index only once it commits")
+    void index_shouldWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(customer(4L, "Virat Kohli", "virat@gmail.com", "9000000004"));
+            index.remove(2L);
+
+            assertEquals(Optional.of(Set.of()), index.candidates("kohli", null, null));
+            assertEquals(Optional.of(Set.of(2L)), index.candidates("dravid", null, null));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Optional.of(Set.of(4L)), index.candidates("kohli", null, null));
+        assertEquals(Optional.of(Set.of()), index.candidates("dravid", null, null));
+    }
+}
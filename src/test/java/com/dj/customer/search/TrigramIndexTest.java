@@ -0,0 +1,69 @@
+package com.dj.customer.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    @Test
+    @DisplayName("Candidates contain every id whose value contains the query")
+    void candidates_shouldIncludeAllContainingValues() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "sachin tendulkar");
+        index.add(2, "rahul dravid");
+        index.add(3, "sachin");
+
+        assertArrayEquals(new long[]{1, 3}, index.candidates("chin"));
+        assertArrayEquals(new long[]{2}, index.candidates("dravid"));
+        assertArrayEquals(new long[0], index.candidates("kohli"));
+    }
+
+    @Test
+    @DisplayName("Removed values no longer produce candidates")
+    void remove_shouldDropPostings() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "9876543210");
+        index.add(2, "9876500000");
+
+        index.remove(1, "9876543210");
+
+        assertArrayEquals(new long[]{2}, index.candidates("98765"));
+        assertArrayEquals(new long[0], index.candidates("43210"));
+    }
+
+    @Test
+    @DisplayName("Ids added out of order come back sorted; a re-added id is kept once")
+    void add_shouldKeepPostingsSorted() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id : new long[]{50, 7, 900, 7, 12, 3, 64, 1000}) {
+            index.add(id, "virat");
+        }
+        index.remove(64, "virat");
+
+        assertArrayEquals(new long[]{3, 7, 12, 50, 900, 1000}, index.candidates("virat"));
+    }
+
+    @Test
+    @DisplayName("More candidates than the limit are reported as null")
+    void candidates_shouldStopAtLimit() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "abc");
+        index.add(2, "abcd");
+        index.add(3, "abcde");
+
+        assertNull(index.candidates("abc", 2));
+        assertArrayEquals(new long[]{2, 3}, index.candidates("bcd", 2));
+        assertNull(index.candidates("abcd", 1));
+    }
+
+    @Test
+    @DisplayName("Queries shorter than a trigram are rejected")
+    void candidates_shouldRejectShortQueries() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "abc");
+
+        assertThrows(IllegalArgumentException.class, () -> index.candidates("ab"));
+    }
+}
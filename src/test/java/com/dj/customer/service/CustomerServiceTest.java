@@ -4,24 +4,34 @@ import com.dj.customer.dto.CustomerPatchRequest;
 import com.dj.customer.dto.CustomerRequest;
 import com.dj.customer.dto.CustomerResponse;
 import com.dj.customer.dto.CustomerUpdateRequest;
+import com.dj.customer.dto.MatchMode;
 import com.dj.customer.entity.Customer;
+import com.dj.customer.exception.PreconditionFailedException;
 import com.dj.customer.exception.ResourceNotFoundException;
+import com.dj.customer.index.CustomerContactIndex;
+import com.dj.customer.index.CustomerIdIndex;
 import com.dj.customer.repository.CustomerRepository;
+import com.dj.customer.search.CustomerSearchIndex;
 import com.dj.customer.util.TestDataFactory;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +40,25 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository repository;
 
+    @Mock
+    private SearchCountCache countCache;
+
+    @Mock
+    private CustomerSearchIndex searchIndex;
+
+    // Not loaded, so every id may exist and lookups reach the repository
+    @Spy
+    private CustomerIdIndex idIndex = new CustomerIdIndex(mock(JdbcTemplate.class), true);
+
+    @Spy
+    private CustomerContactIndex contactIndex = new CustomerContactIndex(mock(JdbcTemplate.class), true);
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private org.hibernate.Cache cache;
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -55,14 +84,32 @@ class CustomerServiceTest {
     void getById_shouldThrowException_whenNotFound() {
         when(repository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(
+        ResourceNotFoundException ex = assertThrows(
                 ResourceNotFoundException.class,
                 () -> customerService.getById(1L)
         );
 
+        // Misses are routine, so no stack trace is captured and the message is built on demand
+        assertEquals(0, ex.getStackTrace().length);
+        assertEquals("Customer not found id=1", ex.getMessage());
         verify(repository).findById(1L);
     }
 
+    @Test
+    @DisplayName("Ids missing from the loaded id index are rejected without a query")
+    void unknownId_shouldNotReachRepository() {
+        idIndex.load(); // empty table
+
+        assertThrows(ResourceNotFoundException.class, () -> customerService.getById(7L));
+        assertThrows(ResourceNotFoundException.class,
+                () -> customerService.update(7L, CustomerUpdateRequest.builder().build(), null));
+        assertThrows(ResourceNotFoundException.class,
+                () -> customerService.patch(7L, CustomerPatchRequest.builder().build(), null));
+        assertThrows(ResourceNotFoundException.class, () -> customerService.delete(7L));
+
+        verifyNoInteractions(repository);
+    }
+
     // ---------- CREATE ----------
 
     @Test
@@ -86,31 +133,50 @@ class CustomerServiceTest {
         verify(repository).save(any(Customer.class));
     }
 
+    @Test
+    @DisplayName("Create customer - a failed insert gives its email and mobile back")
+    void create_shouldReleaseReservation_whenInsertFails() {
+        when(repository.save(any(Customer.class))).thenThrow(new StackOverflowError());
+
+        CustomerRequest request = CustomerRequest.builder()
+                .fullName("Sachin Tendulkar")
+                .email("sachin@gmail.com")
+                .mobile("9876543210")
+                .build();
+
+        assertThrows(StackOverflowError.class, () -> customerService.create(request));
+        assertDoesNotThrow(() -> contactIndex.reserve("sachin@gmail.com", "9876543210", false));
+    }
+
     // ---------- DELETE ----------
 
     @Test
     @DisplayName("Delete customer - success")
     void delete_shouldRemoveCustomer() {
-        when(repository.existsById(1L)).thenReturn(true);
+        when(repository.deleteCustomerById(1L)).thenReturn(1);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(org.hibernate.Cache.class)).thenReturn(cache);
 
         customerService.delete(1L);
 
-        verify(repository).existsById(1L);
-        verify(repository).deleteById(1L);
+        verify(repository).deleteCustomerById(1L);
+        verify(repository, never()).findById(any());
+        verify(cache).evict(Customer.class, 1L);
+        verify(searchIndex).remove(1L);
     }
 
     @Test
     @DisplayName("Delete customer - not found")
     void delete_shouldThrowException_whenNotFound() {
-        when(repository.existsById(1L)).thenReturn(false);
+        when(repository.deleteCustomerById(1L)).thenReturn(0);
 
         assertThrows(
                 ResourceNotFoundException.class,
                 () -> customerService.delete(1L)
         );
 
-        verify(repository).existsById(1L);
-        verify(repository, never()).deleteById(anyLong());
+        verifyNoInteractions(entityManagerFactory);
+        verifyNoInteractions(searchIndex);
     }
 
     // ---------- UPDATE (PUT) ----------
@@ -122,7 +188,6 @@ class CustomerServiceTest {
         existing.setId(1L);
 
         when(repository.findById(1L)).thenReturn(Optional.of(existing));
-        when(repository.save(any(Customer.class))).thenReturn(existing);
 
         CustomerUpdateRequest request = CustomerUpdateRequest.builder()
                 .fullName("Updated Name")
@@ -130,11 +195,59 @@ class CustomerServiceTest {
                 .mobile("8888888888")
                 .build();
 
-        CustomerResponse response = customerService.update(1L, request);
+        CustomerResponse response = customerService.update(1L, request, null);
 
         assertEquals("Updated Name", response.getFullName());
+        assertEquals("Updated Name", existing.getFullName());
         verify(repository).findById(1L);
-        verify(repository).save(any(Customer.class));
+        verify(repository, never()).save(any(Customer.class)); // flushed by dirty checking
+    }
+
+    @Test
+    @DisplayName("Update customer - stale expected version")
+    void update_shouldRejectStaleVersion() {
+        Customer existing = TestDataFactory.validCustomer();
+        existing.setId(1L);
+        existing.setVersion(2L);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+
+        CustomerUpdateRequest request = CustomerUpdateRequest.builder()
+                .fullName("Updated Name")
+                .email("updated@gmail.com")
+                .mobile("8888888888")
+                .build();
+
+        assertThrows(
+                PreconditionFailedException.class,
+                () -> customerService.update(1L, request, List.of(1L))
+        );
+
+        assertEquals("Sachin Tendulkar", existing.getFullName());
+        verify(repository, never()).flush();
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    @DisplayName("Update customer - losing a race at flush fails If-Match, otherwise it stays a conflict")
+    void update_shouldFailPrecondition_whenConcurrentWriteWins() {
+        Customer existing = TestDataFactory.validCustomer();
+        existing.setId(1L);
+        existing.setVersion(1L);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+        doThrow(new ObjectOptimisticLockingFailureException(Customer.class, 1L)).when(repository).flush();
+
+        CustomerUpdateRequest request = CustomerUpdateRequest.builder()
+                .fullName("Updated Name")
+                .email("updated@gmail.com")
+                .mobile("8888888888")
+                .build();
+
+        assertThrows(PreconditionFailedException.class,
+                () -> customerService.update(1L, request, List.of(1L)));
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> customerService.update(1L, request, null));
     }
 
     // ---------- PATCH ----------
@@ -144,21 +257,21 @@ class CustomerServiceTest {
     void patch_shouldUpdateOnlyProvidedFields() {
         Customer existing = TestDataFactory.validCustomer();
         existing.setId(1L);
+        existing.setVersion(0L);
 
         when(repository.findById(1L)).thenReturn(Optional.of(existing));
-        when(repository.save(any(Customer.class))).thenReturn(existing);
 
         CustomerPatchRequest request = CustomerPatchRequest.builder()
                 .email("patched@gmail.com")
                 .build();
 
-        CustomerResponse response = customerService.patch(1L, request);
+        CustomerResponse response = customerService.patch(1L, request, List.of(0L));
 
         assertEquals("patched@gmail.com", response.getEmail());
         assertEquals("Sachin Tendulkar", response.getFullName()); // unchanged
 
         verify(repository).findById(1L);
-        verify(repository).save(any(Customer.class));
+        verify(repository, never()).save(any(Customer.class)); // flushed by dirty checking
     }
 
     @Test
@@ -173,18 +286,60 @@ class CustomerServiceTest {
                 .mobile("9876543210")
                 .build();
 
-        Page<Customer> page = new PageImpl<>(List.of(customer), pageable, 1);
+        Window<Customer> window = Window.from(List.of(customer), ScrollPosition::offset);
 
-        when(repository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(page);
+        when(repository.findBy(any(Specification.class), any())).thenReturn(window);
+        when(countCache.count(eq("Sachin"), isNull(), isNull(), eq(MatchMode.CONTAINS), any())).thenReturn(1L);
 
         Page<CustomerResponse> result =
-                customerService.search("Sachin", null, null, pageable);
+                customerService.search("Sachin", null, null, MatchMode.CONTAINS, pageable);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("Sachin Tendulkar",
                 result.getContent().get(0).getFullName());
 
-        verify(repository).findAll(any(Specification.class), eq(pageable));
+        verify(repository).findBy(any(Specification.class), any());
+        verify(repository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Search slice - no count query, hasNext from the window")
+    void searchSlice_shouldSkipCount() {
+
+        Pageable pageable = PageRequest.of(0, 1);
+
+        Customer customer = TestDataFactory.validCustomer();
+        customer.setId(1L);
+
+        Window<Customer> window = Window.from(List.of(customer), ScrollPosition::offset, true);
+
+        when(repository.findBy(any(Specification.class), any())).thenReturn(window);
+
+        Slice<CustomerResponse> result =
+                customerService.searchSlice(null, null, null, MatchMode.CONTAINS, pageable);
+
+        assertTrue(result.hasNext());
+        assertEquals(1, result.getNumberOfElements());
+        verifyNoInteractions(countCache);
+        verify(repository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @DisplayName("Exact search - uses the normalized columns, not the search index")
+    void searchExact_shouldBypassSearchIndex() {
+
+        Pageable pageable = PageRequest.of(0, 10);
+
+        Customer customer = TestDataFactory.validCustomer();
+        customer.setId(1L);
+
+        when(repository.findBy(any(Specification.class), any()))
+                .thenReturn(Window.from(List.of(customer), ScrollPosition::offset));
+
+        Slice<CustomerResponse> result =
+                customerService.searchSlice(null, "Sachin@Gmail.com", null, MatchMode.EXACT, pageable);
+
+        assertEquals(1, result.getNumberOfElements());
+        verifyNoInteractions(searchIndex);
     }
 }
@@ -0,0 +1,51 @@
+package com.dj.customer.service;
+
+import com.dj.customer.dto.MatchMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchCountCacheTest {
+
+    @Test
+    @DisplayName("Same filters within the TTL reuse the cached total")
+    void count_shouldReuseWithinTtl() {
+        SearchCountCache cache = new SearchCountCache(Duration.ofMinutes(1), 100);
+        AtomicInteger queries = new AtomicInteger();
+
+        assertEquals(42, cache.count("Sachin", null, null, MatchMode.CONTAINS, () -> { queries.incrementAndGet(); return 42; }));
+        assertEquals(42, cache.count("sachin", null, null, MatchMode.CONTAINS, () -> { queries.incrementAndGet(); return 7; }));
+
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    @DisplayName("Different filters and expired entries run the count again")
+    void count_shouldRecountOnMissOrExpiry() {
+        SearchCountCache cache = new SearchCountCache(Duration.ZERO, 100);
+        AtomicInteger queries = new AtomicInteger();
+
+        cache.count(null, "gmail", null, MatchMode.CONTAINS, () -> { queries.incrementAndGet(); return 1; });
+        cache.count(null, "gmail", null, MatchMode.CONTAINS, () -> { queries.incrementAndGet(); return 1; });
+        cache.count(null, null, "98", MatchMode.CONTAINS, () -> { queries.incrementAndGet(); return 1; });
+
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    @DisplayName("Match modes are cached separately; exact mobile keys ignore formatting")
+    void count_shouldKeyByMatchMode() {
+        SearchCountCache cache = new SearchCountCache(Duration.ofMinutes(1), 100);
+        AtomicInteger queries = new AtomicInteger();
+
+        cache.count(null, null, "98765", MatchMode.CONTAINS, () -> { queries.incrementAndGet(); return 1; });
+        cache.count(null, null, "98765", MatchMode.PREFIX, () -> { queries.incrementAndGet(); return 1; });
+        cache.count(null, null, "98-765", MatchMode.PREFIX, () -> { queries.incrementAndGet(); return 1; });
+
+        assertEquals(2, queries.get());
+    }
+}
@@ -0,0 +1,63 @@
+package com.dj.customer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MaskingUtilTest {
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"sachin@gmail.com", "s@gmail.com", "@gmail.com", "no-at-sign", "",
+            "a@b@c.com", "ab@@c.com", "sa@x", "ünïcode@dömain.de"})
+    @DisplayName("maskEmail - same output as the split-based implementation")
+    void maskEmail_shouldMatchLegacy(String email) {
+        assertEquals(legacyMaskEmail(email), MaskingUtil.maskEmail(email));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"9876543210", "+91 98765 43210", "1234", "123", "", "12345"})
+    @DisplayName("maskMobile - same output as the concatenation-based implementation")
+    void maskMobile_shouldMatchLegacy(String mobile) {
+        assertEquals(legacyMaskMobile(mobile), MaskingUtil.maskMobile(mobile));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"Sachin Tendulkar", "abc", "ab", "", "x"})
+    @DisplayName("maskGeneric - same output as the concatenation-based implementation")
+    void maskGeneric_shouldMatchLegacy(String value) {
+        assertEquals(legacyMaskGeneric(value), MaskingUtil.maskGeneric(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ab@", "ab@@"})
+    @DisplayName("maskEmail - empty domain is masked instead of failing")
+    void maskEmail_shouldHandleEmptyDomain(String email) {
+        assertEquals("a****@", MaskingUtil.maskEmail(email));
+    }
+
+    private static String legacyMaskEmail(String email) {
+        if (email == null || !email.contains("@")) return email;
+        String[] parts = email.split("@");
+        String name = parts[0];
+        if (name.length() <= 1) {
+            return "*@" + parts[1];
+        }
+        return name.charAt(0) + "****@" + parts[1];
+    }
+
+    private static String legacyMaskMobile(String mobile) {
+        if (mobile == null || mobile.length() < 4) return mobile;
+        return mobile.substring(0, 2) + "******" + mobile.substring(mobile.length() - 2);
+    }
+
+    private static String legacyMaskGeneric(String value) {
+        if (value == null || value.length() < 3) return "***";
+        return value.charAt(0) + "***" + value.charAt(value.length() - 1);
+    }
+}
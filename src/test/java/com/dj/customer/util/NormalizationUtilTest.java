@@ -0,0 +1,34 @@
+package com.dj.customer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NormalizationUtilTest {
+
+    @Test
+    @DisplayName("Lower case uses the root locale and keeps null")
+    void lowerCase() {
+        assertEquals("sachin@gmail.com", NormalizationUtil.lowerCase("Sachin@GMAIL.com"));
+        assertNull(NormalizationUtil.lowerCase(null));
+    }
+
+    @Test
+    @DisplayName("Digits only strips formatting from mobile numbers")
+    void digitsOnly() {
+        assertEquals("919876543210", NormalizationUtil.digitsOnly("+91 98765-43210"));
+        assertEquals("9876543210", NormalizationUtil.digitsOnly("9876543210"));
+        assertEquals("", NormalizationUtil.digitsOnly("n/a"));
+        assertNull(NormalizationUtil.digitsOnly(null));
+    }
+
+    @Test
+    @DisplayName("Unique keys treat values that normalize to nothing as absent")
+    void uniqueKeys() {
+        assertEquals("sachin@gmail.com", NormalizationUtil.emailKey("Sachin@Gmail.com"));
+        assertNull(NormalizationUtil.emailKey(" "));
+        assertEquals("919876543210", NormalizationUtil.mobileKey("+91 98765-43210"));
+        assertNull(NormalizationUtil.mobileKey("n/a"));
+    }
+}